@@ -19,6 +19,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -47,6 +48,11 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class ChannelState implements MqttMessageSubscriber {
+    // The broker connection passes the same payload array to all subscribers of a topic, so the payload is decoded
+    // only once and all channel states get the same string instance. This allows transformations to reuse their
+    // parsed representation of the payload, i.e. JSONPATH parses a JSON payload once for all channels.
+    private static final AtomicReference<@Nullable DecodedPayload> LAST_PAYLOAD = new AtomicReference<>();
+
     private final Logger logger = LoggerFactory.getLogger(ChannelState.class);
 
     // Immutable channel configuration
@@ -159,7 +165,7 @@ public class ChannelState implements MqttMessageSubscriber {
         }
 
         // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
+        String strValue = decode(payload);
         if (incomingTransformation.isPresent()) {
             Optional<String> transformedValue = incomingTransformation.apply(strValue);
             if (transformedValue.isEmpty()) {
@@ -225,6 +231,25 @@ public class ChannelState implements MqttMessageSubscriber {
         receivedOrTimeout();
     }
 
+    /**
+     * Decodes an UTF8 encoded payload, reusing the string of the previous call for the same payload array.
+     *
+     * @param payload The byte payload
+     * @return The decoded payload
+     */
+    public static String decode(byte[] payload) {
+        DecodedPayload last = LAST_PAYLOAD.get();
+        if (last != null && last.payload() == payload) {
+            return last.value();
+        }
+        String value = new String(payload, StandardCharsets.UTF_8);
+        LAST_PAYLOAD.set(new DecodedPayload(payload, value));
+        return value;
+    }
+
+    private record DecodedPayload(byte[] payload, String value) {
+    }
+
     /**
      * Returns the state topic. Might be an empty string if this is a stateless channel (TRIGGER kind channel).
      */
@@ -13,11 +13,14 @@
 package org.openhab.binding.mqtt.generic.tools;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
@@ -28,6 +31,10 @@ import org.eclipse.jdt.annotation.Nullable;
  * Collects objects over time until a specified delay passed by.
  * Then call the user back with a list of accumulated objects and start over again.
  *
+ * Objects are collected in a lock-free queue. Instead of rescheduling a timer for every object, a single timer is
+ * armed for the first object of a batch, which waits again for the remaining time if more objects have been added in
+ * the meantime.
+ *
  * @author David Graeff - Initial contribution
  *
  * @param <T> Any object
@@ -35,10 +42,15 @@ import org.eclipse.jdt.annotation.Nullable;
 @NonNullByDefault
 public class DelayedBatchProcessing<T> implements Consumer<T> {
     private final int delay;
+    private final long delayNanos;
+    private final int maxBatchSize;
     private final Consumer<List<T>> consumer;
-    private final List<T> queue = Collections.synchronizedList(new ArrayList<>());
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
     private final ScheduledExecutorService executor;
     protected final AtomicReference<@Nullable ScheduledFuture<?>> futureRef = new AtomicReference<>();
+    private volatile long lastAccept;
 
     /**
      * Creates a {@link DelayedBatchProcessing}.
@@ -48,24 +60,57 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      * @param executor A scheduled executor service
      */
     public DelayedBatchProcessing(int delay, Consumer<List<T>> consumer, ScheduledExecutorService executor) {
+        this(delay, 0, consumer, executor);
+    }
+
+    /**
+     * Creates a {@link DelayedBatchProcessing}, which delivers the collected objects early if a batch is full.
+     *
+     * @param delay A delay in milliseconds
+     * @param maxBatchSize The number of objects that are delivered without waiting for the delay, 0 for no limit
+     * @param consumer A consumer of the list of collected objects
+     * @param executor A scheduled executor service
+     */
+    public DelayedBatchProcessing(int delay, int maxBatchSize, Consumer<List<T>> consumer,
+            ScheduledExecutorService executor) {
         this.delay = delay;
+        this.delayNanos = TimeUnit.MILLISECONDS.toNanos(delay);
+        this.maxBatchSize = maxBatchSize;
         this.consumer = consumer;
         this.executor = executor;
         if (delay <= 0) {
             throw new IllegalArgumentException("Delay need to be greater than 0!");
         }
+        if (maxBatchSize < 0) {
+            throw new IllegalArgumentException("Maximum batch size must not be negative!");
+        }
     }
 
     /**
      * Add new object to the batch process list. Every time a new object is received,
-     * the delay timer is rescheduled.
+     * the delay starts again.
      *
      * @param t An object
      */
     @Override
     public void accept(T t) {
+        // the object has to be queued before the timer is checked, so a running timer either delivers it or a new
+        // timer is armed
         queue.add(t);
-        cancel(futureRef.getAndSet(executor.schedule(this::run, delay, TimeUnit.MILLISECONDS)));
+        lastAccept = System.nanoTime();
+        int size = queueSize.incrementAndGet();
+        if (maxBatchSize > 0 && size >= maxBatchSize && flushRequested.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                flushRequested.set(false);
+                forceProcessNow();
+            });
+        } else if (futureRef.get() == null) {
+            ScheduledFuture<?> future = executor.schedule(this::timeout, delay, TimeUnit.MILLISECONDS);
+            if (!futureRef.compareAndSet(null, future)) {
+                // another thread armed the timer in the meantime
+                future.cancel(false);
+            }
+        }
     }
 
     /**
@@ -75,12 +120,7 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      */
     public List<T> join() {
         cancel(futureRef.getAndSet(null));
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
-        }
-        return lqueue;
+        return drain();
     }
 
     /**
@@ -99,18 +139,34 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
         run();
     }
 
-    private void run() {
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
+    private void timeout() {
+        long remaining = delayNanos - (System.nanoTime() - lastAccept);
+        if (remaining > 0) {
+            // objects were added after the timer was armed
+            futureRef.set(executor.schedule(this::timeout, remaining, TimeUnit.NANOSECONDS));
+            return;
         }
+        futureRef.set(null);
+        run();
+    }
 
+    private void run() {
+        List<T> lqueue = drain();
         if (!lqueue.isEmpty()) {
             consumer.accept(lqueue);
         }
     }
 
+    private List<T> drain() {
+        List<T> lqueue = new ArrayList<>(Math.max(queueSize.get(), 0));
+        T t;
+        while ((t = queue.poll()) != null) {
+            lqueue.add(t);
+        }
+        queueSize.addAndGet(-lqueue.size());
+        return lqueue;
+    }
+
     private static void cancel(@Nullable ScheduledFuture<?> future) {
         if (future != null) {
             future.cancel(false);
@@ -37,6 +37,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.Spy;
@@ -494,6 +495,23 @@ public class ChannelStateTests {
             verify(channelStateUpdateListenerMock, never()).updateChannelState(eq(channelUIDMock), any());
         }
 
+        @Test
+        public void transformationsShareDecodedPayloadTest() throws Exception {
+            ChannelConfig config = ChannelConfigBuilder.create("state", "command")
+                    .withTransformationPattern(List.of(T1_NAME + ":" + T1_PATTERN)).build();
+            ChannelState c1 = new ChannelState(config, channelUIDMock, new TextValue(), channelStateUpdateListenerMock);
+            ChannelState c2 = new ChannelState(config, channelUIDMock, new TextValue(), channelStateUpdateListenerMock);
+
+            // the broker connection passes the same payload to all subscribers of a topic
+            byte[] payload = T1_INPUT.getBytes();
+            c1.processMessage("state", payload);
+            c2.processMessage("state", payload);
+
+            ArgumentCaptor<String> sources = ArgumentCaptor.forClass(String.class);
+            verify(transformationService1Mock, times(2)).transform(eq(T1_PATTERN), sources.capture());
+            assertThat(sources.getAllValues().get(0), is(sameInstance(sources.getAllValues().get(1))));
+        }
+
         @Test
         public void transformationPatternOutTest() throws Exception {
             ChannelConfig config = ChannelConfigBuilder.create("state", "command")
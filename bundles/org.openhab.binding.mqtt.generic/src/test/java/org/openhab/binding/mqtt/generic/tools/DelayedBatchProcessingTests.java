@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests cases for {@link DelayedBatchProcessing}.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class DelayedBatchProcessingTests {
+    private final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(4);
+    private final Queue<List<Integer>> batches = new ConcurrentLinkedQueue<>();
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private Consumer<List<Integer>> collect(CountDownLatch latch) {
+        return batch -> {
+            batches.add(batch);
+            batch.forEach(i -> latch.countDown());
+        };
+    }
+
+    @Test
+    public void allObjectsAreDeliveredOnceUnderContention() throws Exception {
+        int threads = 8;
+        int perThread = 10000;
+        CountDownLatch latch = new CountDownLatch(threads * perThread);
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(50, collect(latch), scheduler);
+
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * perThread;
+            producers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    processing.accept(offset + i);
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Set<Integer> delivered = new HashSet<>();
+        batches.forEach(delivered::addAll);
+        assertThat(delivered.size(), is(threads * perThread));
+        assertThat(batches.stream().mapToInt(List::size).sum(), is(threads * perThread));
+    }
+
+    @Test
+    public void delayStartsAgainWithEveryObject() throws Exception {
+        CountDownLatch latch = new CountDownLatch(2);
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(300, collect(latch), scheduler);
+
+        processing.accept(1);
+        Thread.sleep(150);
+        processing.accept(2);
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertThat(batches.size(), is(1));
+        assertThat(batches.peek(), is(List.of(1, 2)));
+    }
+
+    @Test
+    public void timerIsArmedOncePerBatch() {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(60000,
+                collect(new CountDownLatch(1)), scheduler);
+
+        for (int i = 0; i < 1000; i++) {
+            processing.accept(i);
+        }
+
+        // rescheduling the timer for every object was the main cost of accept()
+        assertThat(scheduler.getTaskCount(), is(1L));
+        assertThat(processing.join().size(), is(1000));
+    }
+
+    @Test
+    public void fullBatchIsDeliveredEarly() throws Exception {
+        CountDownLatch latch = new CountDownLatch(10);
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(60000, 10, collect(latch),
+                scheduler);
+
+        for (int i = 0; i < 10; i++) {
+            processing.accept(i);
+        }
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertThat(processing.join().size(), is(0));
+    }
+
+    @Test
+    public void joinReturnsObjectsWithoutDelivering() {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(60000,
+                collect(new CountDownLatch(1)), scheduler);
+
+        processing.accept(1);
+        processing.accept(2);
+
+        assertTrue(processing.isArmed());
+        assertThat(processing.join(), is(List.of(1, 2)));
+        assertThat(processing.isArmed(), is(false));
+        assertTrue(batches.isEmpty());
+    }
+}
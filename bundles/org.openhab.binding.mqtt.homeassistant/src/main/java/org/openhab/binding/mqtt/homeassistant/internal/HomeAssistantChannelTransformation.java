@@ -19,6 +19,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.Value;
+import org.openhab.binding.mqtt.homeassistant.internal.HomeAssistantPythonBridge.PythonTemplate;
 import org.openhab.binding.mqtt.homeassistant.internal.component.AbstractComponent;
 import org.openhab.core.thing.binding.generic.ChannelTransformation;
 import org.slf4j.Logger;
@@ -42,7 +43,8 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
 
     private final HomeAssistantPythonBridge python;
     private final AbstractComponent<?> component;
-    private final Value template;
+    private final PythonTemplate template;
+    private final @Nullable SimpleValueTemplate simpleTemplate;
     private final boolean command;
     private final String defaultValue;
     private final boolean parseValueAsInteger;
@@ -69,6 +71,8 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
         this.component = component;
         this.command = command;
         this.template = command ? python.newCommandTemplate(template) : python.newValueTemplate(template);
+        // trivial value templates are rendered without python
+        this.simpleTemplate = command ? null : SimpleValueTemplate.parse(this.template.getSource());
         this.defaultValue = defaultValue;
         this.parseValueAsInteger = parseValueAsInteger;
     }
@@ -97,6 +101,13 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
     }
 
     public @Nullable String transform(Object value) {
+        SimpleValueTemplate simpleTemplate = this.simpleTemplate;
+        if (simpleTemplate != null && value instanceof String payload) {
+            String result = simpleTemplate.render(payload);
+            if (result != null) {
+                return result;
+            }
+        }
         try {
             return command ? python.renderCommandTemplate(template, value)
                     : python.renderValueTemplate(template, value, defaultValue);
@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.mqtt.homeassistant.internal;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -19,22 +20,36 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.Value;
 import org.graalvm.python.embedding.GraalPyResources;
 import org.graalvm.python.embedding.VirtualFileSystem;
 import org.openhab.binding.mqtt.homeassistant.internal.exception.ConfigurationException;
+import org.openhab.core.common.ThreadPoolManager;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Centralizes all calls into python to ensure thread safety and a single cached context
+ * Centralizes all calls into python to ensure thread safety.
+ *
+ * Calls are distributed over a small pool of python contexts sharing a single engine, as each context executes only
+ * one call at a time. The pool starts with one context and grows in the background when all contexts are busy. Value
+ * and command templates are compiled once for each context they are rendered in.
  *
  * @author Cody Cutrer - Initial contribution
  */
@@ -42,103 +57,133 @@ import org.slf4j.LoggerFactory;
 @Component(service = HomeAssistantPythonBridge.class)
 public class HomeAssistantPythonBridge {
     private static final String PYTHON = "python";
-    private final Logger logger = LoggerFactory.getLogger(HomeAssistantPythonBridge.class);
-    private final Context context;
-    private final Value newRawTemplateMeth, newCommandTemplateMeth, newValueTemplateMeth, renderCommandTemplateMeth,
-            renderValueTemplateMeth, renderCommandTemplateWithVariablesMeth, renderValueTemplateWithVariablesMeth,
-            processDiscoveryConfigMeth, listMeth;
+    private static final String THREAD_POOL_NAME = "homeassistant";
+    private static final int DEFAULT_MAX_CONTEXTS = Math.max(1,
+            Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    private static final String SETUP_SCRIPT = """
+            # we need to set up the path just like it would have been set up on Linux, even if we're
+            # on Windows
+            import os
+            import sys
 
-    @Activate
-    public HomeAssistantPythonBridge() {
-        VirtualFileSystem vfs = VirtualFileSystem.newBuilder().resourceLoadingClass(HomeAssistantPythonBridge.class)
-                .build();
+            if os.sep != '/':
+                sys.path.append(os.path.join(sys.prefix, "lib", "python%d.%d" % sys.version_info[:2], "site-packages"))
 
-        context = GraalPyResources.contextBuilder(vfs).logHandler(new LogHandler(logger))
-                .option("engine.WarnInterpreterOnly", "false").build();
+            from homeassistant.helpers.template import Template
+            from homeassistant.components.mqtt.models import MqttCommandTemplate, MqttValueTemplate
+            from homeassistant.components.mqtt.discovery import process_discovery_config
 
-        Value bindings = context.getBindings(PYTHON);
+            def new_raw_template(template):
+                return Template(template)
 
-        context.eval(PYTHON,
-                """
-                        # we need to set up the path just like it would have been set up on Linux, even if we're
-                        # on Windows
-                        import os
-                        import sys
+            def new_command_template(template):
+                return MqttCommandTemplate(template)
 
-                        if os.sep != '/':
-                            sys.path.append(os.path.join(sys.prefix, "lib", "python%d.%d" % sys.version_info[:2], "site-packages"))
+            def render_command_template(template, value):
+                return template.render(value=value)
 
-                        from homeassistant.helpers.template import Template
-                        from homeassistant.components.mqtt.models import MqttCommandTemplate, MqttValueTemplate
-                        from homeassistant.components.mqtt.discovery import process_discovery_config
+            def render_command_template_with_variables(template, value, variables):
+                return template.render(value=value, variables=variables)
 
-                        def new_raw_template(template):
-                            return Template(template)
+            def new_value_template(template):
+                return MqttValueTemplate(template)
 
-                        def new_command_template(template):
-                            return MqttCommandTemplate(template)
+            def render_value_template(template, payload, default):
+                return template.render_with_possible_json_value(payload=payload, default=default)
 
-                        def render_command_template(template, value):
-                            return template.render(value=value)
+            def render_value_template_with_variables(template, payload, default, variables):
+                return template.render_with_possible_json_value(payload=payload, default=default, variables=variables)
+            """;
 
-                        def render_command_template_with_variables(template, value, variables):
-                            return template.render(value=value, variables=variables)
+    private final Logger logger = LoggerFactory.getLogger(HomeAssistantPythonBridge.class);
+    private final VirtualFileSystem vfs;
+    private final Engine engine;
+    private final int maxContexts;
+    // only grows, the index of a context is its position
+    private final List<PythonContext> contexts = new CopyOnWriteArrayList<>();
+    private final AtomicInteger nextContext = new AtomicInteger();
+    private final AtomicBoolean growing = new AtomicBoolean();
 
-                        def new_value_template(template):
-                            return MqttValueTemplate(template)
+    private final LongAdder renderCount = new LongAdder();
+    private final LongAdder renderNanos = new LongAdder();
+    private final LongAdder waitCount = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
 
-                        def render_value_template(template, payload, default):
-                            return template.render_with_possible_json_value(payload=payload, default=default)
+    @Activate
+    public HomeAssistantPythonBridge() {
+        this(DEFAULT_MAX_CONTEXTS);
+    }
 
-                        def render_value_template_with_variables(template, payload, default, variables):
-                            return template.render_with_possible_json_value(payload=payload, default=default, variables=variables)
-                        """);
+    /**
+     * @param maxContexts maximum number of python contexts
+     */
+    public HomeAssistantPythonBridge(int maxContexts) {
+        this.maxContexts = Math.max(1, maxContexts);
+        vfs = VirtualFileSystem.newBuilder().resourceLoadingClass(HomeAssistantPythonBridge.class).build();
+        // a shared engine shares parsed and compiled code between the contexts
+        engine = Engine.newBuilder().logHandler(new LogHandler(logger)).option("engine.WarnInterpreterOnly", "false")
+                .build();
+        contexts.add(new PythonContext(0));
+    }
 
-        newRawTemplateMeth = bindings.getMember("new_raw_template");
-        newCommandTemplateMeth = bindings.getMember("new_command_template");
-        renderCommandTemplateMeth = bindings.getMember("render_command_template");
-        renderCommandTemplateWithVariablesMeth = bindings.getMember("render_command_template_with_variables");
-        newValueTemplateMeth = bindings.getMember("new_value_template");
-        renderValueTemplateMeth = bindings.getMember("render_value_template");
-        renderValueTemplateWithVariablesMeth = bindings.getMember("render_value_template_with_variables");
-        processDiscoveryConfigMeth = bindings.getMember("process_discovery_config");
-        listMeth = bindings.getMember("list");
+    @Deactivate
+    public void dispose() {
+        logger.debug("Python statistics: {}", getStatistics());
+        for (PythonContext context : contexts) {
+            try {
+                context.context.close(true);
+            } catch (RuntimeException e) {
+                logger.debug("Failed to close python context: {}", e.getMessage());
+            }
+        }
+        engine.close();
     }
 
     public Value newRawTemplate(String template) {
-        return newRawTemplateMeth.execute(template);
+        PythonContext context = acquire();
+        try {
+            return context.newRawTemplateMeth.execute(template);
+        } finally {
+            context.lock.unlock();
+        }
     }
 
-    public Value newCommandTemplate(Value template) {
-        return newCommandTemplateMeth.execute(template);
+    public PythonTemplate newCommandTemplate(Value template) {
+        return new PythonTemplate(getSource(template), true, maxContexts);
     }
 
-    public String renderCommandTemplate(Value template, Object value) {
-        return renderCommandTemplateMeth.execute(template, value).asString();
+    public String renderCommandTemplate(PythonTemplate template, Object value) {
+        return render(template, (context, compiled) -> context.renderCommandTemplateMeth.execute(compiled, value));
     }
 
-    public String renderCommandTemplate(Value template, Object value, Map<String, @Nullable Object> variables) {
-        return renderCommandTemplateWithVariablesMeth.execute(template, value, variables).asString();
+    public String renderCommandTemplate(PythonTemplate template, Object value,
+            Map<String, @Nullable Object> variables) {
+        return render(template, (context, compiled) -> context.renderCommandTemplateWithVariablesMeth
+                .execute(compiled, value, variables));
     }
 
-    public Value newValueTemplate(Value template) {
-        return newValueTemplateMeth.execute(template);
+    public PythonTemplate newValueTemplate(Value template) {
+        return new PythonTemplate(getSource(template), false, maxContexts);
     }
 
-    public String renderValueTemplate(Value template, Object payload, String defaultValue) {
-        return renderValueTemplateMeth.execute(template, payload, defaultValue).asString();
+    public String renderValueTemplate(PythonTemplate template, Object payload, String defaultValue) {
+        return render(template,
+                (context, compiled) -> context.renderValueTemplateMeth.execute(compiled, payload, defaultValue));
     }
 
-    public String renderValueTemplate(Value template, Object payload, String defaultValue,
+    public String renderValueTemplate(PythonTemplate template, Object payload, String defaultValue,
             Map<String, @Nullable Object> variables) {
-        return renderValueTemplateWithVariablesMeth.execute(template, payload, defaultValue, variables).asString();
+        return render(template, (context, compiled) -> context.renderValueTemplateWithVariablesMeth.execute(compiled,
+                payload, defaultValue, variables));
     }
 
     public Map<String, @Nullable Object> processDiscoveryConfig(String component, String payload) {
+        PythonContext context = acquire();
         try {
             @SuppressWarnings("unchecked")
-            Map<String, @Nullable Object> config = (Map<String, @Nullable Object>) toJava(
-                    processDiscoveryConfigMeth.execute(component, payload));
+            Map<String, @Nullable Object> config = (Map<String, @Nullable Object>) toJava(context,
+                    context.processDiscoveryConfigMeth.execute(component, payload));
             if (config == null) {
                 throw new ConfigurationException("Invalid configuration");
             }
@@ -147,10 +192,131 @@ public class HomeAssistantPythonBridge {
         } catch (PolyglotException e) {
             throw new ConfigurationException(
                     "Failed to process discovery config for " + component + ": " + e.getMessage());
+        } finally {
+            context.lock.unlock();
         }
     }
 
-    private @Nullable Object toJava(Value value) {
+    /**
+     * @return statistics of the template rendering
+     */
+    public Statistics getStatistics() {
+        long renders = renderCount.sum();
+        long waits = waitCount.sum();
+        return new Statistics(contexts.size(), renders,
+                Duration.ofNanos(renders == 0 ? 0 : renderNanos.sum() / renders), waits,
+                Duration.ofNanos(waits == 0 ? 0 : waitNanos.sum() / waits), Duration.ofNanos(maxWaitNanos.get()));
+    }
+
+    /**
+     * @param contexts number of python contexts
+     * @param renders number of rendered templates
+     * @param averageRenderTime average time to render a template, including the compilation in a context
+     * @param waits number of calls that had to wait for a python context
+     * @param averageWaitTime average time calls had to wait for a python context
+     * @param maxWaitTime maximum time a call had to wait for a python context
+     */
+    public record Statistics(int contexts, long renders, Duration averageRenderTime, long waits,
+            Duration averageWaitTime, Duration maxWaitTime) {
+    }
+
+    /**
+     * A value or command template, which can be rendered in any python context.
+     */
+    public static final class PythonTemplate {
+        private final String source;
+        private final boolean command;
+        // compiled template for each context, only accessed while holding the lock of the context
+        private final @Nullable Value[] compiled;
+
+        private PythonTemplate(String source, boolean command, int maxContexts) {
+            this.source = source;
+            this.command = command;
+            this.compiled = new @Nullable Value[maxContexts];
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        @Override
+        public String toString() {
+            return source;
+        }
+    }
+
+    private String getSource(Value template) {
+        if (template.isString()) {
+            return template.asString();
+        }
+        return template.getMember("template").asString();
+    }
+
+    private String render(PythonTemplate template, BiFunction<PythonContext, Value, Value> renderer) {
+        PythonContext context = acquire();
+        try {
+            long start = System.nanoTime();
+            Value compiled = template.compiled[context.index];
+            if (compiled == null) {
+                Value rawTemplate = context.newRawTemplateMeth.execute(template.source);
+                compiled = template.command ? context.newCommandTemplateMeth.execute(rawTemplate)
+                        : context.newValueTemplateMeth.execute(rawTemplate);
+                template.compiled[context.index] = compiled;
+            }
+            String result = renderer.apply(context, compiled).asString();
+            renderNanos.add(System.nanoTime() - start);
+            renderCount.increment();
+            return result;
+        } finally {
+            context.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a locked context, preferring idle ones. The caller must unlock it.
+     */
+    private PythonContext acquire() {
+        int size = contexts.size();
+        int offset = Math.floorMod(nextContext.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            PythonContext context = contexts.get((offset + i) % size);
+            if (context.lock.tryLock()) {
+                return context;
+            }
+        }
+
+        // all contexts are busy
+        grow();
+        long start = System.nanoTime();
+        PythonContext context = contexts.get(offset);
+        context.lock.lock();
+        long waited = System.nanoTime() - start;
+        waitCount.increment();
+        waitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        return context;
+    }
+
+    /**
+     * Creates another context in the background, if the pool is not complete yet.
+     */
+    private void grow() {
+        if (contexts.size() < maxContexts && growing.compareAndSet(false, true)) {
+            ThreadPoolManager.getPool(THREAD_POOL_NAME).execute(() -> {
+                try {
+                    PythonContext context = new PythonContext(contexts.size());
+                    contexts.add(context);
+                    logger.debug("Added python context {} of {}", contexts.size(), maxContexts);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to create python context: {}", e.getMessage());
+                } finally {
+                    growing.set(false);
+                }
+            });
+        }
+    }
+
+    private @Nullable Object toJava(PythonContext context, Value value) {
         if (value.isNull()) {
             return null;
         }
@@ -163,7 +329,7 @@ public class HomeAssistantPythonBridge {
         if (value.hasArrayElements()) {
             List<@Nullable Object> list = new ArrayList<>();
             for (long i = 0; i < value.getArraySize(); i++) {
-                list.add(toJava(value.getArrayElement(i)));
+                list.add(toJava(context, value.getArrayElement(i)));
             }
             return list;
         }
@@ -172,16 +338,16 @@ public class HomeAssistantPythonBridge {
             Value iterator = value.getHashKeysIterator();
             while (iterator.hasIteratorNextElement()) {
                 Value key = iterator.getIteratorNextElement();
-                map.put(key.asString(), toJava(Objects.requireNonNull(value.getHashValue(key))));
+                map.put(key.asString(), toJava(context, Objects.requireNonNull(value.getHashValue(key))));
             }
             return map;
         }
         // This is a bit of a pain, but Python sets don't act like Arrays, nor
         // can you use `as(List.class)` to have Graal convert them
         if (value.getMetaObject().getMetaSimpleName().equals("set")) {
-            Value pyList = listMeth.execute(value);
+            Value pyList = context.listMeth.execute(value);
             @SuppressWarnings("unchecked")
-            List<@Nullable Object> list = (List<@Nullable Object>) Objects.requireNonNull(toJava(pyList));
+            List<@Nullable Object> list = (List<@Nullable Object>) Objects.requireNonNull(toJava(context, pyList));
             Set<@Nullable Object> set = new HashSet<@Nullable Object>(list);
             return set;
         }
@@ -193,4 +359,41 @@ public class HomeAssistantPythonBridge {
         Object r = value.as(Object.class);
         return r;
     }
+
+    /**
+     * A python context with the Home Assistant modules loaded.
+     */
+    private class PythonContext {
+        private final int index;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Context context;
+        private final Value newRawTemplateMeth, newCommandTemplateMeth, newValueTemplateMeth,
+                renderCommandTemplateMeth, renderValueTemplateMeth, renderCommandTemplateWithVariablesMeth,
+                renderValueTemplateWithVariablesMeth, processDiscoveryConfigMeth, listMeth;
+
+        PythonContext(int index) {
+            this.index = index;
+            context = GraalPyResources.contextBuilder(vfs).engine(engine).build();
+
+            Value bindings = context.getBindings(PYTHON);
+
+            context.eval(PYTHON, SETUP_SCRIPT);
+
+            newRawTemplateMeth = bindings.getMember("new_raw_template");
+            newCommandTemplateMeth = bindings.getMember("new_command_template");
+            renderCommandTemplateMeth = bindings.getMember("render_command_template");
+            renderCommandTemplateWithVariablesMeth = bindings.getMember("render_command_template_with_variables");
+            newValueTemplateMeth = bindings.getMember("new_value_template");
+            renderValueTemplateMeth = bindings.getMember("render_value_template");
+            renderValueTemplateWithVariablesMeth = bindings.getMember("render_value_template_with_variables");
+            processDiscoveryConfigMeth = bindings.getMember("process_discovery_config");
+            listMeth = bindings.getMember("list");
+
+            if (index > 0) {
+                // warm up the template engine before the context is used
+                renderValueTemplateMeth.execute(newValueTemplateMeth.execute(newRawTemplateMeth.execute("{{ value }}")),
+                        "", "");
+            }
+        }
+    }
 }
@@ -0,0 +1,574 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Evaluates trivial value templates like <code>{{ value_json.temperature | float | round(1) }}</code> in Java.
+ *
+ * Supported are lookup chains on <code>value</code> or <code>value_json</code> with attributes, keys and list indices,
+ * followed by the filters <code>float</code>, <code>int</code>, <code>round</code> and <code>default</code>. The result
+ * is formatted like python would do it. Whenever a template or a value is not handled exactly like Jinja would handle
+ * it, {@link #render(String)} returns <code>null</code> and the template has to be rendered in python.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class SimpleValueTemplate {
+    private static final Pattern TEMPLATE = Pattern.compile("\\s*\\{\\{(.*)}}\\s*", Pattern.DOTALL);
+    private static final Pattern INTEGER = Pattern.compile("[+-]?\\d+");
+    private static final Pattern DECIMAL = Pattern.compile("[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?");
+    // attributes of python dicts, Jinja returns them instead of the value for value_json.<name>
+    private static final Set<String> DICT_ATTRIBUTES = Set.of("clear", "copy", "fromkeys", "get", "items", "keys",
+            "pop", "popitem", "setdefault", "update", "values");
+    // the same message is usually rendered by several channels subscribed to the same topic
+    private static final AtomicReference<@Nullable ParsedPayload> LAST_PAYLOAD = new AtomicReference<>();
+
+    /** Marks a missing attribute or key, which is an error in Jinja unless replaced by the default filter */
+    private static final Object UNDEFINED = new Object();
+    /** Marks a value that is not handled like in python */
+    private static final Object UNSUPPORTED = new Object();
+
+    private final boolean json;
+    private final List<Accessor> accessors;
+    private final List<Filter> filters;
+
+    private SimpleValueTemplate(boolean json, List<Accessor> accessors, List<Filter> filters) {
+        this.json = json;
+        this.accessors = accessors;
+        this.filters = filters;
+    }
+
+    /**
+     * Analyzes a template.
+     *
+     * @param template the template source
+     * @return the template, or <code>null</code> if it is not simple enough
+     */
+    public static @Nullable SimpleValueTemplate parse(String template) {
+        var matcher = TEMPLATE.matcher(template);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String expression = matcher.group(1);
+        if (expression.contains("{{") || expression.contains("}}") || expression.contains("{%")
+                || expression.contains("{#")) {
+            return null;
+        }
+        try {
+            return new Parser(expression).parse();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Renders the template.
+     *
+     * @param payload the received payload
+     * @return the rendered template, or <code>null</code> if it must be rendered in python instead
+     */
+    public @Nullable String render(String payload) {
+        Object value = payload;
+        if (json) {
+            JsonElement tree = parseJson(payload);
+            if (tree == null) {
+                return null;
+            }
+            value = fromJson(tree);
+        }
+        for (Accessor accessor : accessors) {
+            if (value == UNDEFINED) {
+                // accessing an undefined value is an error, which is handled by python
+                return null;
+            }
+            value = accessor.apply(value);
+            if (value == UNSUPPORTED) {
+                return null;
+            }
+        }
+        for (Filter filter : filters) {
+            value = filter.apply(value);
+            if (value == UNSUPPORTED) {
+                return null;
+            }
+        }
+        return value == UNDEFINED ? null : toPythonString(value);
+    }
+
+    private static @Nullable JsonElement parseJson(String payload) {
+        ParsedPayload last = LAST_PAYLOAD.get();
+        if (last != null && (last.payload == payload || last.payload.equals(payload))) {
+            return last.tree;
+        }
+        JsonElement tree;
+        if (payload.isBlank()) {
+            // Gson returns JsonNull for empty documents
+            tree = null;
+        } else {
+            try {
+                JsonReader reader = new JsonReader(new StringReader(payload));
+                reader.setStrictness(Strictness.STRICT);
+                tree = JsonParser.parseReader(reader);
+                if (reader.peek() != JsonToken.END_DOCUMENT) {
+                    tree = null;
+                }
+            } catch (JsonParseException | IOException e) {
+                // either invalid JSON, or JSON that only python accepts
+                tree = null;
+            }
+        }
+        LAST_PAYLOAD.set(new ParsedPayload(payload, tree));
+        return tree;
+    }
+
+    /**
+     * Converts JSON primitives to the types python's json module would return: String, Boolean, BigInteger for int,
+     * Double for float and null for None. JSON objects and arrays are kept.
+     */
+    private static @Nullable Object fromJson(JsonElement element) {
+        if (element.isJsonNull()) {
+            return null;
+        }
+        if (!element.isJsonPrimitive()) {
+            return element;
+        }
+        JsonPrimitive primitive = element.getAsJsonPrimitive();
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean();
+        }
+        if (primitive.isString()) {
+            return primitive.getAsString();
+        }
+        String number = primitive.getAsString();
+        if (INTEGER.matcher(number).matches()) {
+            return new BigInteger(number);
+        }
+        return Double.parseDouble(number);
+    }
+
+    /**
+     * Converts a value to a python float, like <code>float(value)</code>.
+     *
+     * @return the float, <code>null</code> if python raises a ValueError or TypeError, or {@link #UNSUPPORTED}
+     */
+    private static @Nullable Object toFloat(@Nullable Object value) {
+        if (value instanceof Double) {
+            return value;
+        }
+        if (value instanceof BigInteger integer) {
+            double result = integer.doubleValue();
+            // python raises an OverflowError
+            return Double.isInfinite(result) ? UNSUPPORTED : result;
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? 1.0 : 0.0;
+        }
+        if (value instanceof String string) {
+            if (!DECIMAL.matcher(string).matches()) {
+                // python accepts more, like whitespace, underscores or inf
+                return UNSUPPORTED;
+            }
+            return Double.parseDouble(string);
+        }
+        return null;
+    }
+
+    /**
+     * Converts a value to a python int, like Jinja's int filter.
+     *
+     * @return the int, <code>null</code> if the conversion fails, or {@link #UNSUPPORTED}
+     */
+    private static @Nullable Object toInt(@Nullable Object value) {
+        if (value instanceof BigInteger) {
+            return value;
+        }
+        if (value instanceof String string && INTEGER.matcher(string).matches()) {
+            return new BigInteger(string);
+        }
+        Object result = toFloat(value);
+        if (result instanceof Double number) {
+            return Double.isInfinite(number) ? UNSUPPORTED : new BigDecimal(number).toBigInteger();
+        }
+        return result;
+    }
+
+    private static @Nullable String toPythonString(@Nullable Object value) {
+        if (value == null) {
+            return "None";
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? "True" : "False";
+        }
+        if (value instanceof BigInteger integer) {
+            return integer.toString();
+        }
+        if (value instanceof Double number) {
+            return formatFloat(number);
+        }
+        if (value instanceof String string) {
+            return strip(string);
+        }
+        // python's representation of dicts and lists
+        return null;
+    }
+
+    /**
+     * Formats a float like python's <code>repr</code>, which uses the shortest representation like Java, but switches
+     * to the exponential notation at different magnitudes.
+     */
+    private static @Nullable String formatFloat(double number) {
+        if (number == 0) {
+            return 1 / number < 0 ? "-0.0" : "0.0";
+        }
+        double magnitude = Math.abs(number);
+        if (Double.isNaN(number) || magnitude < 1e-4 || magnitude >= 1e16) {
+            return null;
+        }
+        String result = new BigDecimal(Double.toString(number)).stripTrailingZeros().toPlainString();
+        return result.indexOf('.') < 0 ? result + ".0" : result;
+    }
+
+    /**
+     * Strips whitespace like python's <code>str.strip()</code>, as long as it is ASCII.
+     */
+    private static @Nullable String strip(String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && isPythonSpace(value.charAt(start))) {
+            start++;
+        }
+        while (end > start && isPythonSpace(value.charAt(end - 1))) {
+            end--;
+        }
+        if (start < end && (value.charAt(start) > 0x7F || value.charAt(end - 1) > 0x7F)) {
+            // python strips unicode whitespace as well
+            return null;
+        }
+        return value.substring(start, end);
+    }
+
+    private static boolean isPythonSpace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r') || (c >= 0x1C && c <= 0x1F);
+    }
+
+    private record ParsedPayload(String payload, @Nullable JsonElement tree) {
+    }
+
+    @FunctionalInterface
+    private interface Accessor {
+        @Nullable
+        Object apply(@Nullable Object value);
+    }
+
+    @FunctionalInterface
+    private interface Filter {
+        @Nullable
+        Object apply(@Nullable Object value);
+    }
+
+    private static Accessor attribute(String name) {
+        return value -> {
+            if (!(value instanceof JsonObject object) || DICT_ATTRIBUTES.contains(name)) {
+                // attributes of other python types
+                return UNSUPPORTED;
+            }
+            JsonElement element = object.get(name);
+            return element == null ? UNDEFINED : fromJson(element);
+        };
+    }
+
+    private static Accessor key(String key) {
+        return value -> {
+            if (!(value instanceof JsonObject object)) {
+                return UNSUPPORTED;
+            }
+            JsonElement element = object.get(key);
+            if (element == null) {
+                // Jinja falls back to the attribute
+                return DICT_ATTRIBUTES.contains(key) || key.startsWith("_") ? UNSUPPORTED : UNDEFINED;
+            }
+            return fromJson(element);
+        };
+    }
+
+    private static Accessor index(int index) {
+        return value -> {
+            if (!(value instanceof JsonArray array) || index >= array.size()) {
+                return UNSUPPORTED;
+            }
+            return fromJson(array.get(index));
+        };
+    }
+
+    private static Filter floatFilter(@Nullable Object defaultValue) {
+        return value -> {
+            if (value == UNDEFINED) {
+                return UNSUPPORTED;
+            }
+            Object result = toFloat(value);
+            return result != null ? result : defaultValue;
+        };
+    }
+
+    private static Filter intFilter(@Nullable Object defaultValue) {
+        return value -> {
+            if (value == UNDEFINED) {
+                return UNSUPPORTED;
+            }
+            Object result = toInt(value);
+            return result != null ? result : defaultValue;
+        };
+    }
+
+    private static Filter roundFilter(int precision) {
+        return value -> {
+            if (value == UNDEFINED) {
+                return UNSUPPORTED;
+            }
+            if (!(toFloat(value) instanceof Double number)) {
+                return UNSUPPORTED;
+            }
+            // python rounds the exact binary value half to even
+            BigDecimal rounded = new BigDecimal(number).setScale(precision, RoundingMode.HALF_EVEN);
+            return precision == 0 ? rounded.toBigInteger() : rounded.doubleValue();
+        };
+    }
+
+    private static Filter defaultFilter(@Nullable Object defaultValue) {
+        return value -> value == UNDEFINED ? defaultValue : value;
+    }
+
+    /**
+     * Parser for expressions like <code>value_json.a['b'][0] | float(0) | round(2)</code>.
+     */
+    private static class Parser {
+        private final String expression;
+        private int position;
+
+        Parser(String expression) {
+            this.expression = expression;
+        }
+
+        SimpleValueTemplate parse() {
+            skipWhitespace();
+            String root = identifier();
+            boolean json;
+            if ("value".equals(root)) {
+                json = false;
+            } else if ("value_json".equals(root)) {
+                json = true;
+            } else {
+                throw new IllegalArgumentException(root);
+            }
+
+            List<Accessor> accessors = new ArrayList<>();
+            while (true) {
+                skipWhitespace();
+                if (consume('.')) {
+                    skipWhitespace();
+                    String name = identifier();
+                    if (name.startsWith("_")) {
+                        throw new IllegalArgumentException(name);
+                    }
+                    accessors.add(attribute(name));
+                } else if (consume('[')) {
+                    skipWhitespace();
+                    Object key = literal();
+                    skipWhitespace();
+                    expect(']');
+                    if (key instanceof String string) {
+                        accessors.add(key(string));
+                    } else if (key instanceof BigInteger integer && integer.signum() >= 0
+                            && integer.bitLength() < 31) {
+                        accessors.add(index(integer.intValue()));
+                    } else {
+                        throw new IllegalArgumentException(String.valueOf(key));
+                    }
+                } else {
+                    break;
+                }
+            }
+            if (!json && !accessors.isEmpty()) {
+                // attributes of strings
+                throw new IllegalArgumentException(expression);
+            }
+
+            List<Filter> filters = new ArrayList<>();
+            while (consume('|')) {
+                skipWhitespace();
+                String name = identifier();
+                List<@Nullable Object> arguments = arguments();
+                filters.add(switch (name) {
+                    case "float" -> floatFilter(optionalArgument(arguments));
+                    case "int" -> intFilter(optionalArgument(arguments));
+                    case "round" -> roundFilter(precision(arguments));
+                    case "default", "d" -> {
+                        if (arguments.size() != 1) {
+                            throw new IllegalArgumentException(name);
+                        }
+                        yield defaultFilter(arguments.getFirst());
+                    }
+                    default -> throw new IllegalArgumentException(name);
+                });
+                skipWhitespace();
+            }
+            if (position != expression.length()) {
+                throw new IllegalArgumentException(expression);
+            }
+            return new SimpleValueTemplate(json, List.copyOf(accessors), List.copyOf(filters));
+        }
+
+        /**
+         * @return the default argument of a filter, or {@link #UNSUPPORTED} if python raises an error instead
+         */
+        private @Nullable Object optionalArgument(List<@Nullable Object> arguments) {
+            if (arguments.size() > 1) {
+                throw new IllegalArgumentException(expression);
+            }
+            return arguments.isEmpty() ? UNSUPPORTED : arguments.getFirst();
+        }
+
+        private int precision(List<@Nullable Object> arguments) {
+            if (arguments.isEmpty()) {
+                return 0;
+            }
+            if (arguments.size() == 1 && arguments.getFirst() instanceof BigInteger precision
+                    && precision.signum() >= 0 && precision.intValue() <= 15) {
+                return precision.intValue();
+            }
+            throw new IllegalArgumentException(expression);
+        }
+
+        private List<@Nullable Object> arguments() {
+            List<@Nullable Object> arguments = new ArrayList<>();
+            skipWhitespace();
+            if (!consume('(')) {
+                return arguments;
+            }
+            skipWhitespace();
+            if (consume(')')) {
+                return arguments;
+            }
+            do {
+                skipWhitespace();
+                arguments.add(literal());
+                skipWhitespace();
+            } while (consume(','));
+            expect(')');
+            return arguments;
+        }
+
+        private @Nullable Object literal() {
+            if (position >= expression.length()) {
+                throw new IllegalArgumentException(expression);
+            }
+            char quote = expression.charAt(position);
+            if (quote == '\'' || quote == '"') {
+                int end = expression.indexOf(quote, position + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException(expression);
+                }
+                String string = expression.substring(position + 1, end);
+                if (string.indexOf('\\') >= 0) {
+                    // escape sequences
+                    throw new IllegalArgumentException(string);
+                }
+                position = end + 1;
+                return string;
+            }
+            int start = position;
+            while (position < expression.length()
+                    && "0123456789.-".indexOf(expression.charAt(position)) >= 0) {
+                position++;
+            }
+            if (position > start) {
+                String number = expression.substring(start, position);
+                if (INTEGER.matcher(number).matches()) {
+                    return new BigInteger(number);
+                }
+                if (DECIMAL.matcher(number).matches()) {
+                    return Double.parseDouble(number);
+                }
+                throw new IllegalArgumentException(number);
+            }
+            String name = identifier();
+            if ("none".equals(name) || "None".equals(name)) {
+                return null;
+            }
+            if ("true".equals(name) || "True".equals(name)) {
+                return true;
+            }
+            if ("false".equals(name) || "False".equals(name)) {
+                return false;
+            }
+            throw new IllegalArgumentException(name);
+        }
+
+        private String identifier() {
+            int start = position;
+            while (position < expression.length() && (Character.isLetter(expression.charAt(position))
+                    || expression.charAt(position) == '_'
+                    || (position > start && Character.isDigit(expression.charAt(position))))) {
+                position++;
+            }
+            if (start == position) {
+                throw new IllegalArgumentException(expression);
+            }
+            return expression.substring(start, position);
+        }
+
+        private boolean consume(char c) {
+            if (position < expression.length() && expression.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw new IllegalArgumentException(expression);
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}
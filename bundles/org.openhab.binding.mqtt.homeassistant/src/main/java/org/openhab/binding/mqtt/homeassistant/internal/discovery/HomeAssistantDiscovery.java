@@ -13,6 +13,7 @@
 package org.openhab.binding.mqtt.homeassistant.internal.discovery;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -143,6 +144,20 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
 
         resetPublishTimer();
 
+        // The configurations are processed in parallel, only the configurations of the same topic are processed in
+        // order
+        processInOrder(bridgeUID, topic, () -> {
+            // All retained configurations are received again after reconnecting to the broker. The check runs in
+            // order, so it compares with the last configuration processed before.
+            if (isUnchangedPayload(bridgeUID, topic, payload)) {
+                logger.trace("Skipping unchanged configuration on {}", topic);
+                return;
+            }
+            processConfig(bridgeUID, topic, payload);
+        });
+    }
+
+    private void processConfig(ThingUID bridgeUID, String topic, byte[] payload) {
         // We will of course find multiple of the same unique Thing IDs, for each different component another one.
         // Therefore the components are assembled into a list and given to the DiscoveryResult label for the user to
         // easily recognize object capabilities.
@@ -155,18 +170,22 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
             final String thingID = config.getThingId(haID.objectID);
             final ThingUID thingUID = new ThingUID(MqttBindingConstants.HOMEASSISTANT_MQTT_THING, bridgeUID, thingID);
 
-            // Build properties and DiscoveryResult outside the lock
+            // Build properties outside the lock
             Map<String, Object> properties = new HashMap<>();
             properties = config.appendToProperties(properties);
             properties.put("deviceId", thingID);
 
-            DiscoveryResult result = buildResult(thingID, thingUID, config.getThingName(), haID, properties, bridgeUID);
-
             // Now only mutate shared state under the lock
             synchronized (discoveryStateLock) {
+                DiscoveryResult result = buildResult(thingID, thingUID, config.getThingName(), haID, properties,
+                        bridgeUID);
                 thingIDPerTopic.put(topic, thingUID);
                 applyResult(thingID, haID, result);
             }
+            // publish once all configurations have been processed
+            resetPublishTimer();
+            // failed configurations are not remembered, so they are processed again when received again
+            rememberPayload(bridgeUID, topic, payload);
         } catch (ConfigurationException e) {
             logger.warn("HomeAssistant discover error: invalid configuration of thing {} component {}: {}",
                     haID.objectID, haID.component, e.getMessage());
@@ -195,7 +214,7 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         getDiscoveryService().publish(BIRTH_TOPIC, ONLINE_STATUS.getBytes(), 1, false);
     }
 
-    private void resetPublishTimer() {
+    private synchronized void resetPublishTimer() {
         lastEventTime = System.currentTimeMillis();
         if (future == null || future.isDone()) {
             future = scheduler.schedule(this::checkAndPublish, DISCOVERY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
@@ -265,17 +284,17 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
     }
 
     protected void publishResults() {
-        Set<ThingUID> toPublish;
+        List<DiscoveryResult> toPublish = new ArrayList<>();
         synchronized (discoveryStateLock) {
-            toPublish = dirtyResults;
-            dirtyResults = new HashSet<>();
-        }
-        for (ThingUID uid : toPublish) {
-            DiscoveryResult result = allResults.get(uid.toString());
-            if (result != null) {
-                thingDiscovered(result);
+            for (ThingUID uid : dirtyResults) {
+                DiscoveryResult result = allResults.get(uid.toString());
+                if (result != null) {
+                    toPublish.add(result);
+                }
             }
+            dirtyResults = new HashSet<>();
         }
+        toPublish.forEach(this::thingDiscovered);
     }
 
     @Override
@@ -283,6 +302,14 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
         if (!topic.endsWith("/config")) {
             return;
         }
+        // Forget the configuration in order, so a configuration processed before cannot be remembered again
+        processInOrder(bridgeUID, topic, () -> {
+            forgetPayload(bridgeUID, topic);
+            removeConfig(bridgeUID, topic);
+        });
+    }
+
+    private void removeConfig(ThingUID bridgeUID, String topic) {
         ThingUID thingUID;
         HaID haID = new HaID(topic);
         String thingID;
@@ -318,19 +345,18 @@ public class HomeAssistantDiscovery extends AbstractMQTTDiscovery {
             return;
         }
 
-        // Step 3: heavy work outside lock
         if (existingThing == null) {
             logger.warn("Could not find discovery result for removed component {}; this is a bug", thingUID);
             return;
         }
 
-        resetPublishTimer();
+        // Step 3: build and commit the new result under lock, as components of other topics are processed in parallel
         Map<String, Object> properties = new HashMap<>(existingThing.getProperties());
-        DiscoveryResult result = buildResult(thingID, thingUID, existingThing.getLabel(), haID, properties, bridgeUID);
-
-        // Step 4: commit new result under lock
         synchronized (discoveryStateLock) {
+            DiscoveryResult result = buildResult(thingID, thingUID, existingThing.getLabel(), haID, properties,
+                    bridgeUID);
             applyResult(thingID, haID, result);
         }
+        resetPublishTimer();
     }
 }
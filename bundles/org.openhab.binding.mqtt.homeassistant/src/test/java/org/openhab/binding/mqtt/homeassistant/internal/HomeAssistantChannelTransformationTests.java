@@ -17,6 +17,12 @@ import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.junit.jupiter.api.BeforeEach;
@@ -108,6 +114,26 @@ public class HomeAssistantChannelTransformationTests extends AbstractHomeAssista
                 is("off"));
     }
 
+    @Test
+    public void testConcurrentTransformations() throws Exception {
+        HomeAssistantChannelTransformation transformation = new HomeAssistantChannelTransformation(PYTHON, component,
+                PYTHON.newRawTemplate("{{ value_json.count + 1 }}"), false);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<@Nullable String>> results = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                String payload = "{\"count\": " + i + "}";
+                results.add(executor.submit(() -> transformation.transform(payload)));
+            }
+            for (int i = 0; i < 50; i++) {
+                assertThat(results.get(i).get(), is(String.valueOf(i + 1)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(PYTHON.getStatistics().renders() >= 50, is(true));
+    }
+
     protected @Nullable Object transform(String template, Object value) {
         return new HomeAssistantChannelTransformation(PYTHON, component, PYTHON.newRawTemplate(template), false)
                 .transform(value);
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.openhab.binding.mqtt.homeassistant.internal.HomeAssistantPythonBridge.PythonTemplate;
+
+/**
+ * Tests for {@link SimpleValueTemplate}, comparing the results with the python implementation.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class SimpleValueTemplateTests {
+
+    @ParameterizedTest
+    @CsvSource(delimiterString = "=>", quoteCharacter = '`', value = { //
+            "{{ value }}                             => ` abc `", //
+            "{{ value | float }}                     => 21", //
+            "{{ value | int }}                       => 21.7", //
+            "{{ value_json.temperature }}            => {\"temperature\": 21.5}", //
+            "{{ value_json.temperature }}            => {\"temperature\": 21.50}", //
+            "{{ value_json.temperature }}            => {\"temperature\": 1e7}", //
+            "{{ value_json.temperature }}            => {\"temperature\": -0}", //
+            "{{ value_json.count }}                  => {\"count\": 12345678901234567890}", //
+            "{{ value_json['state'] }}               => {\"state\": \"ON\"}", //
+            "{{ value_json[\"state\"] }}             => {\"state\": true}", //
+            "{{ value_json.state }}                  => {\"state\": null}", //
+            "{{ value_json.a.b[1] }}                 => {\"a\": {\"b\": [1, 2]}}", //
+            "{{ value_json.temperature | float }}    => {\"temperature\": \"21\"}", //
+            "{{ value_json.temperature | float(0) }} => {\"temperature\": null}", //
+            "{{ value_json.temperature | int }}      => {\"temperature\": -21.7}", //
+            "{{ value_json.temperature | int }}      => {\"temperature\": \"21.7\"}", //
+            "{{ value_json.t | round(1) }}           => {\"t\": 21.55}", //
+            "{{ value_json.t | round(2) }}           => {\"t\": \"0.125\"}", //
+            "{{ value_json.t | round }}              => {\"t\": 2.5}", //
+            "{{ value_json.t | float | round(1) }}   => {\"t\": 3}", //
+            "{{ value_json.t | default('unknown') }} => {\"x\": 1}", //
+            "{{ value_json.t | default(0) | int }}   => {}", //
+            "{{value_json.t|d(5)}}                   => {\"t\": false}" })
+    public void testSameResultAsPython(String template, String payload) {
+        SimpleValueTemplate simpleTemplate = Objects.requireNonNull(SimpleValueTemplate.parse(template));
+
+        String result = simpleTemplate.render(payload);
+
+        assertThat(result, is(notNullValue()));
+        assertThat(result, is(renderInPython(template, payload)));
+    }
+
+    @Test
+    public void testExpectedResults() {
+        assertThat(render("{{ value_json.temperature | float | round(1) }}", "{\"temperature\": 21.46}"), is("21.5"));
+        assertThat(render("{{ value_json['battery'] | int }}", "{\"battery\": 99.9}"), is("99"));
+        assertThat(render("{{ value_json.state | default('off') }}", "{\"other\": 1}"), is("off"));
+        assertThat(render("{{ value_json.ok }}", "{\"ok\": true}"), is("True"));
+    }
+
+    @Test
+    public void testComplexTemplatesAreNotParsed() {
+        assertThat(SimpleValueTemplate.parse("{{ value_json.a + 1 }}"), is(nullValue()));
+        assertThat(SimpleValueTemplate.parse("{{ value_json.a }} {{ value_json.b }}"), is(nullValue()));
+        assertThat(SimpleValueTemplate.parse("{% if value_json.a %}on{% endif %}"), is(nullValue()));
+        assertThat(SimpleValueTemplate.parse("{{ value_json.a | upper }}"), is(nullValue()));
+        assertThat(SimpleValueTemplate.parse("{{ value_json._a }}"), is(nullValue()));
+        assertThat(SimpleValueTemplate.parse("{{ value.a }}"), is(nullValue()));
+        assertThat(SimpleValueTemplate.parse("{{ states('sensor.x') }}"), is(nullValue()));
+        assertThat(SimpleValueTemplate.parse("text"), is(nullValue()));
+    }
+
+    @Test
+    public void testUnsupportedValuesAreLeftToPython() {
+        // errors, which are handled by python
+        assertThat(render("{{ value_json.missing }}", "{\"a\": 1}"), is(nullValue()));
+        assertThat(render("{{ value_json.a }}", "not json"), is(nullValue()));
+        assertThat(render("{{ value_json.a | float }}", "{\"a\": \"unavailable\"}"), is(nullValue()));
+        // values without the same representation
+        assertThat(render("{{ value_json.a }}", "{\"a\": {\"b\": 1}}"), is(nullValue()));
+        assertThat(render("{{ value_json.a }}", "{\"a\": 1e20}"), is(nullValue()));
+        assertThat(render("{{ value_json.items }}", "{\"items\": 1}"), is(nullValue()));
+        assertThat(render("{{ value_json.a }}", "{\"a\": NaN}"), is(nullValue()));
+    }
+
+    private @Nullable String render(String template, String payload) {
+        return Objects.requireNonNull(SimpleValueTemplate.parse(template)).render(payload);
+    }
+
+    private String renderInPython(String template, String payload) {
+        HomeAssistantPythonBridge python = AbstractHomeAssistantTests.PYTHON;
+        PythonTemplate pythonTemplate = python.newValueTemplate(python.newRawTemplate(template));
+        return python.renderValueTemplate(pythonTemplate, payload,
+                HomeAssistantChannelTransformation.PAYLOAD_SENTINEL_NONE);
+    }
+}
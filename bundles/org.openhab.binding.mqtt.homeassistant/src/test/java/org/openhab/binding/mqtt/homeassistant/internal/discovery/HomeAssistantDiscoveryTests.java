@@ -15,6 +15,7 @@ package org.openhab.binding.mqtt.homeassistant.internal.discovery;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -87,6 +88,66 @@ public class HomeAssistantDiscoveryTests extends AbstractHomeAssistantTests {
                 "climate/0x847127fffe11dd6a_climate_zigbee2mqtt", "switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt"));
     }
 
+    @Test
+    public void testUnchangedConfigurationIsSkipped() throws Exception {
+        var discoveryListener = new LatchDiscoveryListener();
+        var latch = discoveryListener.createWaitForThingsDiscoveredLatch(1);
+        discovery.addDiscoveryListener(discoveryListener);
+        discovery.receivedMessage(HA_UID, bridgeConnection,
+                "homeassistant/switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt/config",
+                getResourceAsByteArray("component/configTS0601AutoLock.json"));
+        assert latch.await(3, TimeUnit.SECONDS);
+        assertThat(discoveryListener.getDiscoveryResults().size(), is(1));
+
+        // When the retained configuration is received again after a reconnect
+        latch = discoveryListener.createWaitForThingsDiscoveredLatch(1);
+        discovery.receivedMessage(HA_UID, bridgeConnection,
+                "homeassistant/switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt/config",
+                getResourceAsByteArray("component/configTS0601AutoLock.json"));
+
+        // Then it is not published again
+        assertThat(latch.await(3, TimeUnit.SECONDS), is(false));
+        assertThat(discoveryListener.getDiscoveryResults().size(), is(0));
+    }
+
+    @Test
+    public void testRepublishedConfigurationIsDiscoveredAgain() throws Exception {
+        String topic = "homeassistant/switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt/config";
+        byte[] config = getResourceAsByteArray("component/configTS0601AutoLock.json");
+        var discoveryListener = new LatchDiscoveryListener();
+        var latch = discoveryListener.createWaitForThingsDiscoveredLatch(1);
+        discovery.addDiscoveryListener(discoveryListener);
+
+        // When the configuration vanishes while it is still processed, and is then published again
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic, config);
+        discovery.topicVanished(HA_UID, bridgeConnection, topic);
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic, config);
+
+        // Then the thing is discovered again
+        assert latch.await(3, TimeUnit.SECONDS);
+        assertThat(discoveryListener.getDiscoveryResults().size(), is(1));
+    }
+
+    @Test
+    public void testInvalidConfigurationIsNotRemembered() throws Exception {
+        String topic = "homeassistant/switch/0x847127fffe11dd6a_auto_lock_zigbee2mqtt/config";
+        byte[] invalid = "{".getBytes(StandardCharsets.UTF_8);
+        byte[] valid = getResourceAsByteArray("component/configTS0601AutoLock.json");
+        var discoveryListener = new LatchDiscoveryListener();
+        var latch = discoveryListener.createWaitForThingsDiscoveredLatch(1);
+        discovery.addDiscoveryListener(discoveryListener);
+
+        // When an invalid configuration is followed by a valid one, which is processed after it
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic, invalid);
+        discovery.receivedMessage(HA_UID, bridgeConnection, topic, valid);
+        assert latch.await(3, TimeUnit.SECONDS);
+
+        // Then only the valid configuration is skipped when it is received again
+        TestHomeAssistantDiscovery testDiscovery = (TestHomeAssistantDiscovery) discovery;
+        assertThat(testDiscovery.isUnchanged(topic, valid), is(true));
+        assertThat(testDiscovery.isUnchanged(topic, invalid), is(false));
+    }
+
     @Test
     public void testComponentAddedToExistingThing() throws Exception {
         var discoveryListener = new LatchDiscoveryListener();
@@ -188,6 +249,10 @@ public class HomeAssistantDiscoveryTests extends AbstractHomeAssistantTests {
             super(null, python);
             this.typeProvider = typeProvider;
         }
+
+        public boolean isUnchanged(String topic, byte[] payload) {
+            return isUnchangedPayload(HA_UID, topic, payload);
+        }
     }
 
     private static class LatchDiscoveryListener implements DiscoveryListener {
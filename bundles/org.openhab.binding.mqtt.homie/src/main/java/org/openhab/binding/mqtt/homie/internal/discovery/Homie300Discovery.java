@@ -90,8 +90,15 @@ public class Homie300Discovery extends AbstractMQTTDiscovery {
             logger.trace("Found homie device. But deviceID {} is invalid.", deviceID);
             return;
         }
-
-        publishDevice(connectionBridge, connection, deviceID, topic, deviceID);
+        // Remembering and forgetting payloads of a topic happens in order
+        processInOrder(connectionBridge, topic, () -> {
+            if (isUnchangedPayload(connectionBridge, topic, payload)) {
+                // retained message received again after a reconnect, the device is already discovered
+                return;
+            }
+            publishDevice(connectionBridge, connection, deviceID, topic, deviceID);
+            rememberPayload(connectionBridge, topic, payload);
+        });
     }
 
     void publishDevice(ThingUID connectionBridge, MqttBrokerConnection connection, String deviceID, String topic,
@@ -109,9 +116,11 @@ public class Homie300Discovery extends AbstractMQTTDiscovery {
     @Override
     public void topicVanished(ThingUID connectionBridge, MqttBrokerConnection connection, String topic) {
         String deviceID = extractDeviceID(topic);
-        if (deviceID == null) {
-            return;
-        }
-        thingRemoved(new ThingUID(MqttBindingConstants.HOMIE300_MQTT_THING, connectionBridge, deviceID));
+        processInOrder(connectionBridge, topic, () -> {
+            forgetPayload(connectionBridge, topic);
+            if (deviceID != null) {
+                thingRemoved(new ThingUID(MqttBindingConstants.HOMIE300_MQTT_THING, connectionBridge, deviceID));
+            }
+        });
     }
 }
@@ -12,14 +12,22 @@
  */
 package org.openhab.binding.mqtt.discovery;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.discovery.AbstractDiscoveryService;
 import org.openhab.core.thing.ThingTypeUID;
 import org.slf4j.Logger;
@@ -41,6 +49,8 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public abstract class AbstractMQTTDiscovery extends AbstractDiscoveryService implements MQTTTopicDiscoveryParticipant {
+    private static final String THREAD_POOL_NAME = "mqtt-discovery";
+
     private final Logger logger = LoggerFactory.getLogger(AbstractMQTTDiscovery.class);
 
     protected final String subscribeTopic;
@@ -51,6 +61,12 @@ public abstract class AbstractMQTTDiscovery extends AbstractDiscoveryService imp
 
     private AtomicBoolean isSubscribed;
 
+    // hash of the last payload per topic, to detect retained messages that are received again after a reconnect
+    private final Map<TopicKey, byte[]> payloadHashes = new ConcurrentHashMap<>();
+    // last queued task per topic, to process the messages of a topic in order
+    private final Map<TopicKey, CompletableFuture<@Nullable Void>> topicTasks = new ConcurrentHashMap<>();
+    private final ExecutorService executor = ThreadPoolManager.getPool(THREAD_POOL_NAME);
+
     public AbstractMQTTDiscovery(@Nullable Set<ThingTypeUID> supportedThingTypes, int timeout,
             boolean backgroundDiscoveryEnabledByDefault, String baseTopic) {
         super(supportedThingTypes, 0, backgroundDiscoveryEnabledByDefault);
@@ -75,6 +91,83 @@ public abstract class AbstractMQTTDiscovery extends AbstractDiscoveryService imp
         if (isSubscribed.getAndSet(false)) {
             getDiscoveryService().unsubscribe(this);
         }
+        payloadHashes.clear();
+    }
+
+    /**
+     * Checks whether the payload is the same as the last payload remembered for a topic with
+     * {@link #rememberPayload(ThingUID, String, byte[])}.
+     *
+     * Retained discovery messages are received again after every reconnect to the broker. Implementations can skip
+     * them with this method, as their discovery results are still present. Results that have been approved and whose
+     * thing has been deleted afterwards are therefore only offered again by a manual scan.
+     *
+     * @param bridgeUID The MQTT thing UID of the broker connection
+     * @param topic The topic
+     * @param payload The topic payload
+     * @return true if the same payload was already processed for this topic
+     */
+    protected boolean isUnchangedPayload(ThingUID bridgeUID, String topic, byte[] payload) {
+        byte[] previous = payloadHashes.get(new TopicKey(bridgeUID, topic));
+        return previous != null && Arrays.equals(previous, hash(payload));
+    }
+
+    /**
+     * Remembers the payload of a topic once it has been processed successfully, so it is skipped when it is received
+     * again. Payloads that could not be processed are not remembered and processed again when received again.
+     *
+     * @param bridgeUID The MQTT thing UID of the broker connection
+     * @param topic The topic
+     * @param payload The topic payload
+     */
+    protected void rememberPayload(ThingUID bridgeUID, String topic, byte[] payload) {
+        payloadHashes.put(new TopicKey(bridgeUID, topic), hash(payload));
+    }
+
+    private static byte[] hash(byte[] payload) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(payload);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform has to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Forgets the payload of a vanished topic, so it is processed again when it reappears. Like remembering a
+     * payload, this has to happen in a task of {@link #processInOrder(ThingUID, String, Runnable)}, so a payload
+     * processed before cannot be remembered again afterwards.
+     *
+     * @param bridgeUID The MQTT thing UID of the broker connection
+     * @param topic The topic
+     */
+    protected void forgetPayload(ThingUID bridgeUID, String topic) {
+        payloadHashes.remove(new TopicKey(bridgeUID, topic));
+    }
+
+    /**
+     * Processes a task for a topic in a shared thread pool. Tasks of different topics run in parallel, while tasks of
+     * the same topic run in the order they have been submitted.
+     *
+     * @param bridgeUID The MQTT thing UID of the broker connection
+     * @param topic The topic
+     * @param task The task
+     * @return A future that completes when the task has been processed
+     */
+    protected CompletableFuture<@Nullable Void> processInOrder(ThingUID bridgeUID, String topic, Runnable task) {
+        TopicKey key = new TopicKey(bridgeUID, topic);
+        Runnable safeTask = () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.warn("Processing discovery topic {} failed: {}", topic, e.getMessage(), e);
+            }
+        };
+        CompletableFuture<@Nullable Void> future = topicTasks.compute(key,
+                (k, previous) -> previous == null ? CompletableFuture.runAsync(safeTask, executor)
+                        : previous.thenRunAsync(safeTask, executor));
+        future.whenComplete((result, e) -> topicTasks.remove(key, future));
+        return future;
     }
 
     /**
@@ -111,6 +204,8 @@ public abstract class AbstractMQTTDiscovery extends AbstractDiscoveryService imp
 
     @Override
     protected void startScan() {
+        // a manual scan discovers everything again
+        payloadHashes.clear();
         if (isBackgroundDiscoveryEnabled()) {
             super.stopScan();
             return;
@@ -140,6 +235,7 @@ public abstract class AbstractMQTTDiscovery extends AbstractDiscoveryService imp
     protected void startBackgroundDiscovery() {
         // Remove results that are restored after a restart
         removeOlderResults(Instant.now());
+        payloadHashes.clear();
         subscribe();
     }
 
@@ -147,4 +243,7 @@ public abstract class AbstractMQTTDiscovery extends AbstractDiscoveryService imp
     protected void stopBackgroundDiscovery() {
         unSubscribe();
     }
+
+    private record TopicKey(ThingUID bridgeUID, String topic) {
+    }
 }
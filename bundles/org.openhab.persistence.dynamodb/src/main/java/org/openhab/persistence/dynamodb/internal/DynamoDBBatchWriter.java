@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+
+/**
+ * Writes items with BatchWriteItem requests.
+ *
+ * Items are queued and written in batches of at most {@value #MAX_BATCH_SIZE} items, with at most
+ * <code>maxInFlight</code> requests running at the same time. Items queue up while all requests are running, so batches
+ * grow with the update rate without delaying items when the rate is low.
+ *
+ * Items reported back as unprocessed (usually due to throttling) and throttled requests are retried with jittered
+ * exponential backoff. When a table does not exist, the items are written with {@link TableCreatingPutItem}, which
+ * creates the table.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class DynamoDBBatchWriter {
+    /**
+     * Maximum number of items in a single BatchWriteItem request, defined by DynamoDB
+     */
+    public static final int MAX_BATCH_SIZE = 25;
+    private static final int MAX_ATTEMPTS = 8;
+    private static final long BACKOFF_BASE_MILLIS = 50;
+    private static final long BACKOFF_MAX_MILLIS = 5000;
+
+    private final Logger logger = LoggerFactory.getLogger(DynamoDBBatchWriter.class);
+
+    private final DynamoDBPersistenceService service;
+    private final DynamoDbEnhancedAsyncClient client;
+    private final ExecutorService executor;
+    private final Queue<DynamoDBItem<?>> pending = new ConcurrentLinkedQueue<>();
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong throttleCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    /**
+     * @param service the service providing the tables
+     * @param client the client to write with
+     * @param executor executes the callbacks of the requests
+     * @param maxInFlight maximum number of concurrent requests
+     */
+    public DynamoDBBatchWriter(DynamoDBPersistenceService service, DynamoDbEnhancedAsyncClient client,
+            ExecutorService executor, int maxInFlight) {
+        this.service = service;
+        this.client = client;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Queues an item for writing.
+     *
+     * @param dto the item to write
+     */
+    public void add(DynamoDBItem<?> dto) {
+        pending.add(dto);
+        drain();
+    }
+
+    /**
+     * Waits until all queued items have been written.
+     *
+     * @param timeout maximum time to wait
+     * @return true if all items have been written, false if the timeout elapsed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean flush(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!pending.isEmpty() || inFlight.availablePermits() < maxInFlight) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of items waiting for a request
+     */
+    public int getQueuedCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return the number of requests running, including requests waiting for a retry
+     */
+    public int getRunningCount() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    /**
+     * @return the number of BatchWriteItem requests sent, including retries
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return the number of items written
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * @return the number of retried requests
+     */
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    /**
+     * @return the number of requests that were throttled or left items unprocessed
+     */
+    public long getThrottleCount() {
+        return throttleCount.get();
+    }
+
+    /**
+     * @return the number of items that could not be written
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("requests=%d, written=%d, retries=%d, throttles=%d, failed=%d, queued=%d",
+                requestCount.get(), writtenCount.get(), retryCount.get(), throttleCount.get(), failedCount.get(),
+                pending.size());
+    }
+
+    private void drain() {
+        while (!pending.isEmpty() && inFlight.tryAcquire()) {
+            // BatchWriteItem rejects duplicate keys in a request, the last item of a key wins like with PutItem
+            Map<String, DynamoDBItem<?>> batch = new LinkedHashMap<>();
+            DynamoDBItem<?> dto;
+            while (batch.size() < MAX_BATCH_SIZE && (dto = pending.poll()) != null) {
+                batch.put(key(dto), dto);
+            }
+            if (batch.isEmpty()) {
+                inFlight.release();
+            } else {
+                write(new ArrayList<>(batch.values()), 1);
+            }
+        }
+    }
+
+    private static String key(DynamoDBItem<?> dto) {
+        return dto.getName() + "@" + dto.getTime().toInstant().toEpochMilli();
+    }
+
+    /**
+     * Called when all items of a batch have been processed, successfully or not.
+     */
+    private void completed() {
+        inFlight.release();
+        drain();
+    }
+
+    private void write(List<DynamoDBItem<?>> batch, int attempt) {
+        Batch request = new Batch(batch);
+        requestCount.incrementAndGet();
+        CompletableFuture<BatchWriteResult> future;
+        try {
+            future = client.batchWriteItem(request.toRequest());
+        } catch (RuntimeException e) {
+            failed(batch, e);
+            return;
+        }
+        future.whenCompleteAsync((result, exception) -> {
+            if (exception == null) {
+                List<DynamoDBItem<?>> unprocessed = request.unprocessed(result);
+                writtenCount.addAndGet(batch.size() - unprocessed.size());
+                if (unprocessed.isEmpty()) {
+                    logger.trace("BatchWriteItem: {} items written", batch.size());
+                    completed();
+                } else {
+                    logger.debug("BatchWriteItem: {} of {} items unprocessed", unprocessed.size(), batch.size());
+                    throttleCount.incrementAndGet();
+                    retry(unprocessed, attempt);
+                }
+                return;
+            }
+            Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+                    ? exception.getCause()
+                    : exception;
+            if (cause instanceof ResourceNotFoundException) {
+                logger.trace("BatchWriteItem: table does not exist, writing {} items individually", batch.size());
+                putIndividually(batch);
+            } else if (cause instanceof AwsServiceException serviceException
+                    && serviceException.isThrottlingException()) {
+                logger.debug("BatchWriteItem: throttled with {} items", batch.size());
+                throttleCount.incrementAndGet();
+                retry(batch, attempt);
+            } else {
+                failed(batch, cause);
+            }
+        }, executor);
+    }
+
+    private void retry(List<DynamoDBItem<?>> items, int attempt) {
+        if (attempt >= MAX_ATTEMPTS) {
+            logger.warn("BatchWriteItem: giving up writing {} items after {} attempts", items.size(), attempt);
+            failedCount.addAndGet(items.size());
+            completed();
+            return;
+        }
+        retryCount.incrementAndGet();
+        // full jitter, spreads the retries of concurrent requests
+        long maxDelay = Math.min(BACKOFF_MAX_MILLIS, BACKOFF_BASE_MILLIS << (attempt - 1));
+        long delay = ThreadLocalRandom.current().nextLong(maxDelay + 1);
+        CompletableFuture.runAsync(() -> write(items, attempt + 1),
+                CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor));
+    }
+
+    private void failed(List<DynamoDBItem<?>> items, Throwable cause) {
+        logger.warn("BatchWriteItem: failed (final) with {} {}. {} items not written.", cause.getClass().getSimpleName(),
+                cause.getMessage(), items.size());
+        failedCount.addAndGet(items.size());
+        completed();
+    }
+
+    private void putIndividually(List<DynamoDBItem<?>> items) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(items.size());
+        for (DynamoDBItem<?> dto : items) {
+            futures.add(service.putItemAsync(dto).handle((result, exception) -> {
+                if (exception == null) {
+                    writtenCount.incrementAndGet();
+                } else {
+                    // logged by TableCreatingPutItem
+                    failedCount.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .whenCompleteAsync((result, exception) -> completed(), executor);
+    }
+
+    /**
+     * Items of a request, grouped by table.
+     */
+    private class Batch implements DynamoDBItemVisitor<Boolean> {
+        private final Map<String, DynamoDBItem<?>> items = new LinkedHashMap<>();
+        private final List<DynamoDBBigDecimalItem> numbers = new ArrayList<>();
+        private final List<DynamoDBStringItem> strings = new ArrayList<>();
+        private @Nullable DynamoDbAsyncTable<DynamoDBBigDecimalItem> numberTable;
+        private @Nullable DynamoDbAsyncTable<DynamoDBStringItem> stringTable;
+
+        Batch(List<DynamoDBItem<?>> items) {
+            items.forEach(dto -> {
+                this.items.put(key(dto), dto);
+                dto.accept(this);
+            });
+        }
+
+        @Override
+        public Boolean visit(DynamoDBBigDecimalItem dynamoBigDecimalItem) {
+            return numbers.add(dynamoBigDecimalItem);
+        }
+
+        @Override
+        public Boolean visit(DynamoDBStringItem dynamoStringItem) {
+            return strings.add(dynamoStringItem);
+        }
+
+        BatchWriteItemEnhancedRequest toRequest() {
+            BatchWriteItemEnhancedRequest.Builder builder = BatchWriteItemEnhancedRequest.builder();
+            List<WriteBatch> writeBatches = new ArrayList<>(2);
+            if (!numbers.isEmpty()) {
+                DynamoDbAsyncTable<DynamoDBBigDecimalItem> table = service.getTable(DynamoDBBigDecimalItem.class);
+                numberTable = table;
+                writeBatches.add(writeBatch(DynamoDBBigDecimalItem.class, table, numbers));
+            }
+            if (!strings.isEmpty()) {
+                DynamoDbAsyncTable<DynamoDBStringItem> table = service.getTable(DynamoDBStringItem.class);
+                stringTable = table;
+                writeBatches.add(writeBatch(DynamoDBStringItem.class, table, strings));
+            }
+            return builder.writeBatches(writeBatches).build();
+        }
+
+        /**
+         * Maps the unprocessed items back to the items of the batch by their key. With the new table schema numbers
+         * and strings share a table, so the unprocessed items of that table are returned for both item classes.
+         */
+        List<DynamoDBItem<?>> unprocessed(BatchWriteResult result) {
+            Map<String, DynamoDBItem<?>> unprocessed = new LinkedHashMap<>();
+            List<DynamoDBItem<?>> mapped = new ArrayList<>();
+            DynamoDbAsyncTable<DynamoDBBigDecimalItem> localNumberTable = numberTable;
+            if (localNumberTable != null) {
+                mapped.addAll(result.unprocessedPutItemsForTable(localNumberTable));
+            }
+            DynamoDbAsyncTable<DynamoDBStringItem> localStringTable = stringTable;
+            if (localStringTable != null) {
+                mapped.addAll(result.unprocessedPutItemsForTable(localStringTable));
+            }
+            for (DynamoDBItem<?> dto : mapped) {
+                String key = key(dto);
+                DynamoDBItem<?> item = items.get(key);
+                if (item != null) {
+                    unprocessed.put(key, item);
+                }
+            }
+            return new ArrayList<>(unprocessed.values());
+        }
+
+        private static <T extends DynamoDBItem<?>> WriteBatch writeBatch(Class<T> dtoClass,
+                DynamoDbAsyncTable<T> table, List<T> items) {
+            WriteBatch.Builder<T> builder = WriteBatch.builder(dtoClass).mappedTableResource(table);
+            items.forEach(builder::addPutItem);
+            return builder.build();
+        }
+    }
+}
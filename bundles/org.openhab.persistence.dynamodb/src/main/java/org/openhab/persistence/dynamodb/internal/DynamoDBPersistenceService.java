@@ -99,6 +99,8 @@ import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
 public class DynamoDBPersistenceService implements QueryablePersistenceService {
 
     private static final int MAX_CONCURRENCY = 100;
+    private static final int MAX_CONCURRENT_BATCH_WRITES = 10;
+    private static final Duration BATCH_WRITE_FLUSH_TIMEOUT = Duration.ofSeconds(10);
 
     protected static final String CONFIG_URI = "persistence:dynamodb";
 
@@ -108,6 +110,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     private final UnitProvider unitProvider;
     private @Nullable DynamoDbEnhancedAsyncClient client;
     private @Nullable DynamoDbAsyncClient lowLevelClient;
+    private @Nullable DynamoDBBatchWriter batchWriter;
     private final Logger logger = LoggerFactory.getLogger(DynamoDBPersistenceService.class);
     private boolean isProperlyConfigured;
     private @Nullable DynamoDBConfig dbConfig;
@@ -166,6 +169,11 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         return executor;
     }
 
+    @Nullable
+    DynamoDBBatchWriter getBatchWriter() {
+        return batchWriter;
+    }
+
     @Nullable
     DynamoDBTableNameResolver getTableNameResolver() {
         return tableNameResolver;
@@ -241,7 +249,10 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
                         lowlevelClientBuilder.endpointOverride(endpointOverride);
                     }
                     DynamoDbAsyncClient lowlevelClient = lowlevelClientBuilder.build();
-                    client = DynamoDbEnhancedAsyncClient.builder().dynamoDbClient(lowlevelClient).build();
+                    DynamoDbEnhancedAsyncClient localClient = DynamoDbEnhancedAsyncClient.builder()
+                            .dynamoDbClient(lowlevelClient).build();
+                    batchWriter = new DynamoDBBatchWriter(this, localClient, executor, MAX_CONCURRENT_BATCH_WRITES);
+                    client = localClient;
                     this.lowLevelClient = lowlevelClient;
                 }
             } catch (Exception e) {
@@ -277,7 +288,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         }
     }
 
-    private <T extends DynamoDBItem<?>> DynamoDbAsyncTable<T> getTable(Class<T> dtoClass) {
+    <T extends DynamoDBItem<?>> DynamoDbAsyncTable<T> getTable(Class<T> dtoClass) {
         DynamoDbEnhancedAsyncClient localClient = client;
         DynamoDBTableNameResolver localTableNameResolver = tableNameResolver;
         if (!ensureClient() || localClient == null || localTableNameResolver == null) {
@@ -320,7 +331,23 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
         if (client == null || localLowLevelClient == null) {
             return;
         }
+        DynamoDBBatchWriter localBatchWriter = batchWriter;
+        if (localBatchWriter != null) {
+            try {
+                if (!localBatchWriter.flush(BATCH_WRITE_FLUSH_TIMEOUT)) {
+                    logger.warn(
+                            "Closing the client with {} items queued and {} batch write requests running. These items might not be written.",
+                            localBatchWriter.getQueuedCount(), localBatchWriter.getRunningCount());
+                }
+            } catch (InterruptedException e) {
+                logger.warn("Interrupted while writing {} queued items before closing the client.",
+                        localBatchWriter.getQueuedCount());
+                Thread.currentThread().interrupt();
+            }
+            logger.debug("Batch writes: {}", localBatchWriter);
+        }
         localLowLevelClient.close();
+        batchWriter = null;
         lowLevelClient = null;
         client = null;
         dbConfig = null;
@@ -545,8 +572,9 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             DynamoDbAsyncClient localLowlevelClient = lowLevelClient;
             DynamoDBConfig localConfig = dbConfig;
             DynamoDBTableNameResolver localTableNameResolver = tableNameResolver;
+            DynamoDBBatchWriter localBatchWriter = batchWriter;
             if (!isProperlyConfigured || localClient == null || localLowlevelClient == null || localConfig == null
-                    || localTableNameResolver == null) {
+                    || localTableNameResolver == null || localBatchWriter == null) {
                 logger.warn("Not ready to store (config error?), not storing item {}.", item.getName());
                 return;
             }
@@ -566,27 +594,36 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             }
             logger.trace("store() called with item {} {} '{}', which was converted to DTO {}",
                     copiedItem.getClass().getSimpleName(), effectiveName, copiedItem.getState(), dto);
-            dto.accept(new DynamoDBItemVisitor<TableCreatingPutItem<? extends DynamoDBItem<?>>>() {
-
-                @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(
-                        DynamoDBBigDecimalItem dynamoBigDecimalItem) {
-                    return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoBigDecimalItem,
-                            getTable(DynamoDBBigDecimalItem.class));
-                }
-
-                @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBStringItem dynamoStringItem) {
-                    return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoStringItem,
-                            getTable(DynamoDBStringItem.class));
-                }
-            }).putItemAsync();
+            localBatchWriter.add(dto);
         }, executor).exceptionally(e -> {
             logger.error("Unexcepted error", e);
             return null;
         });
     }
 
+    /**
+     * Writes a single item with PutItem, creating the table if needed.
+     *
+     * @param dto the item to write
+     * @return future completing when the item has been written
+     */
+    CompletableFuture<Void> putItemAsync(DynamoDBItem<?> dto) {
+        return dto.accept(new DynamoDBItemVisitor<TableCreatingPutItem<? extends DynamoDBItem<?>>>() {
+
+            @Override
+            public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBBigDecimalItem dynamoBigDecimalItem) {
+                return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoBigDecimalItem,
+                        getTable(DynamoDBBigDecimalItem.class));
+            }
+
+            @Override
+            public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBStringItem dynamoStringItem) {
+                return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoStringItem,
+                        getTable(DynamoDBStringItem.class));
+            }
+        }).putItemAsync();
+    }
+
     private Item getEffectiveItem(Item item) {
         final Item effectiveItem;
         if (item instanceof GroupItem groupItem) {
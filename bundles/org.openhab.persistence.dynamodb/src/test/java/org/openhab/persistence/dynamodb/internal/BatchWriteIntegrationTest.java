@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.items.StringItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+
+/**
+ * Stores more items than fit into a single BatchWriteItem request, to both the number and the string table.
+ *
+ * @author matgroe - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class BatchWriteIntegrationTest extends BaseIntegrationTest {
+
+    public static final boolean LEGACY_MODE = false;
+    private static final String NUMBER_NAME = "number";
+    private static final String STRING_NAME = "string";
+    private static final int STATE_COUNT = 3 * DynamoDBBatchWriter.MAX_BATCH_SIZE;
+
+    private static @Nullable ZonedDateTime storeStart;
+
+    @SuppressWarnings("null")
+    @BeforeAll
+    public static void populateData() throws InterruptedException {
+        storeStart = ZonedDateTime.now();
+
+        NumberItem numberItem = (NumberItem) ITEMS.get(NUMBER_NAME);
+        StringItem stringItem = (StringItem) ITEMS.get(STRING_NAME);
+        for (int i = 0; i < STATE_COUNT; i++) {
+            numberItem.setState(new DecimalType(i));
+            stringItem.setState(new StringType(String.valueOf(i)));
+            service.store(numberItem);
+            service.store(stringItem);
+            // Add some delay to enforce different timestamps in ms accuracy
+            Thread.sleep(2);
+        }
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    public void testAllItemsWritten() throws InterruptedException {
+        DynamoDBBatchWriter batchWriter = Objects.requireNonNull(service.getBatchWriter());
+        waitForAssert(() -> {
+            assertEquals(STATE_COUNT, query(NUMBER_NAME).size());
+            assertEquals(STATE_COUNT, query(STRING_NAME).size());
+        });
+        assertTrue(batchWriter.flush(Duration.ofSeconds(10)));
+
+        assertEquals(0, batchWriter.getFailedCount());
+        assertEquals(2 * STATE_COUNT, batchWriter.getWrittenCount());
+        // batches only grow while requests are running, every other request has at least one item
+        assertTrue(batchWriter.getRequestCount() <= 2 * STATE_COUNT + batchWriter.getRetryCount());
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    public void testStatesInOrder() {
+        waitForAssert(() -> {
+            List<HistoricItem> items = query(NUMBER_NAME);
+            assertEquals(STATE_COUNT, items.size());
+            for (int i = 0; i < STATE_COUNT; i++) {
+                assertEquals(new DecimalType(i), items.get(i).getState());
+            }
+        });
+    }
+
+    @SuppressWarnings("null")
+    private static List<HistoricItem> query(String name) {
+        FilterCriteria criteria = new FilterCriteria();
+        criteria.setItemName(name);
+        criteria.setBeginDate(Objects.requireNonNull(storeStart));
+        criteria.setOrdering(Ordering.ASCENDING);
+        List<HistoricItem> result = new ArrayList<>();
+        BaseIntegrationTest.service.query(criteria).forEach(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+/**
+ * Tests the retries of the {@link DynamoDBBatchWriter} against a client that throttles requests and leaves items
+ * unprocessed.
+ *
+ * @author matgroe - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class DynamoDBBatchWriterTest {
+
+    private static final String TABLE = "openhab"; // numbers and strings share the table like with the new schema
+    private static final int MAX_IN_FLIGHT = 4;
+    private static final int ITEM_COUNT = 8 * DynamoDBBatchWriter.MAX_BATCH_SIZE;
+    // only the first requests fail, so no item fails more often than the writer retries
+    private static final int FAILING_REQUESTS = 12;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final ExecutorService responder = Executors.newCachedThreadPool();
+    private final CountDownLatch allAdded = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+    // keys of the items written, with the number of times they were written
+    private final Map<String, Integer> written = new ConcurrentHashMap<>();
+
+    private @NonNullByDefault({}) DynamoDBBatchWriter batchWriter;
+
+    @BeforeEach
+    public void setup() {
+        DynamoDbEnhancedAsyncClient tableClient = DynamoDbEnhancedAsyncClient.builder()
+                .dynamoDbClient(mock(DynamoDbAsyncClient.class)).build();
+        DynamoDbAsyncTable<DynamoDBBigDecimalItem> numberTable = tableClient.table(TABLE,
+                DynamoDBBigDecimalItem.TABLE_SCHEMA_NEW);
+        DynamoDbAsyncTable<DynamoDBStringItem> stringTable = tableClient.table(TABLE,
+                DynamoDBStringItem.TABLE_SCHEMA_NEW);
+        DynamoDBPersistenceService service = mock(DynamoDBPersistenceService.class);
+        when(service.getTable(DynamoDBBigDecimalItem.class)).thenReturn(numberTable);
+        when(service.getTable(DynamoDBStringItem.class)).thenReturn(stringTable);
+
+        DynamoDbEnhancedAsyncClient client = mock(DynamoDbEnhancedAsyncClient.class);
+        when(client.batchWriteItem(any(BatchWriteItemEnhancedRequest.class)))
+                .thenAnswer(invocation -> respond(invocation.getArgument(0)));
+        batchWriter = new DynamoDBBatchWriter(service, client, executor, MAX_IN_FLIGHT);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        allAdded.countDown();
+        executor.shutdownNow();
+        responder.shutdownNow();
+    }
+
+    /**
+     * Every fourth of the first requests is throttled, every third leaves half of its items unprocessed. Responses are
+     * held until all items have been added, so the items queue up.
+     */
+    private CompletableFuture<BatchWriteResult> respond(BatchWriteItemEnhancedRequest request) {
+        int call = calls.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                allAdded.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            Map<String, List<WriteRequest>> requests = new HashMap<>();
+            for (WriteBatch writeBatch : request.writeBatches()) {
+                requests.computeIfAbsent(writeBatch.tableName(), table -> new ArrayList<>())
+                        .addAll(writeBatch.writeRequests());
+            }
+            if (call <= FAILING_REQUESTS && call % 4 == 0) {
+                throw DynamoDbException.builder().statusCode(429).message("Rate exceeded").build();
+            }
+            Map<String, List<WriteRequest>> unprocessed = new HashMap<>();
+            requests.forEach((table, writeRequests) -> {
+                int processed = call <= FAILING_REQUESTS && call % 3 == 0 ? writeRequests.size() / 2
+                        : writeRequests.size();
+                writeRequests.subList(0, processed).forEach(r -> written.merge(key(r), 1, Integer::sum));
+                if (processed < writeRequests.size()) {
+                    unprocessed.put(table, new ArrayList<>(writeRequests.subList(processed, writeRequests.size())));
+                }
+            });
+            return BatchWriteResult.builder().unprocessedRequests(unprocessed).build();
+        }, responder);
+    }
+
+    private static String key(WriteRequest request) {
+        Map<String, AttributeValue> item = request.putRequest().item();
+        return item.get(DynamoDBItem.ATTRIBUTE_NAME_ITEMNAME).s() + "@"
+                + item.get(DynamoDBItem.ATTRIBUTE_NAME_TIMEUTC).n();
+    }
+
+    @Test
+    public void testUnprocessedAndThrottledItemsAreRetried() throws InterruptedException {
+        ZonedDateTime time = ZonedDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            String name = "item" + i;
+            if (i % 2 == 0) {
+                batchWriter.add(new DynamoDBBigDecimalItem(name, new BigDecimal(i), time, null));
+            } else {
+                batchWriter.add(new DynamoDBStringItem(name, String.valueOf(i), time, null));
+            }
+            expected.add(name + "@" + time.toInstant().toEpochMilli());
+        }
+        assertEquals(ITEM_COUNT - MAX_IN_FLIGHT, batchWriter.getQueuedCount());
+        allAdded.countDown();
+
+        assertTrue(batchWriter.flush(Duration.ofSeconds(30)));
+
+        // every item written exactly once, also the unprocessed items of the shared table
+        assertEquals(ITEM_COUNT, written.size());
+        expected.forEach(key -> assertEquals(1, written.get(key), key));
+        assertEquals(ITEM_COUNT, batchWriter.getWrittenCount());
+        assertEquals(0, batchWriter.getFailedCount());
+        assertTrue(batchWriter.getThrottleCount() > 0);
+        assertTrue(batchWriter.getRetryCount() >= batchWriter.getThrottleCount());
+        // the first requests are sent before items queue up, all others are full batches or retries
+        int batches = (ITEM_COUNT + DynamoDBBatchWriter.MAX_BATCH_SIZE - 1) / DynamoDBBatchWriter.MAX_BATCH_SIZE;
+        assertTrue(batchWriter.getRequestCount() <= batches + MAX_IN_FLIGHT + batchWriter.getRetryCount(),
+                batchWriter.toString());
+    }
+}
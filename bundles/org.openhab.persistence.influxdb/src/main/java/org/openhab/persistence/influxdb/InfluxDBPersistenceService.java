@@ -14,25 +14,27 @@ package org.openhab.persistence.influxdb;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
@@ -49,12 +51,16 @@ import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
+import org.openhab.persistence.influxdb.internal.InfluxDBBatchSize;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBHistoricItem;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
+import org.openhab.persistence.influxdb.internal.InfluxDBQueryResult;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxDBSpillFile;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
+import org.openhab.persistence.influxdb.internal.InfluxDBWriteBuffer;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.influx1.InfluxDB1RepositoryImpl;
 import org.openhab.persistence.influxdb.internal.influx2.InfluxDB2RepositoryImpl;
@@ -98,6 +104,11 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     private final Logger logger = LoggerFactory.getLogger(InfluxDBPersistenceService.class);
 
     private static final int COMMIT_INTERVAL = 3; // in s
+    private static final int MIN_BATCH_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 5000;
+    private static final long TARGET_WRITE_LATENCY = 1000; // in ms
+    private static final Path SPILL_FILE = Path.of(OpenHAB.getUserDataFolder(), "persistence", "influxdb",
+            "spill.dat");
     protected static final String CONFIG_URI = "persistence:influxdb";
 
     // External dependencies
@@ -110,7 +121,9 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
 
     // storage
     private final ScheduledFuture<?> storeJob;
-    private final BlockingQueue<InfluxPoint> pointsQueue = new LinkedBlockingQueue<>();
+    private final InfluxDBWriteBuffer pointsBuffer;
+    private final InfluxDBBatchSize batchSize = new InfluxDBBatchSize(MIN_BATCH_SIZE, MAX_BATCH_SIZE,
+            TARGET_WRITE_LATENCY);
 
     // conversion
     private final Set<ItemFactory> itemFactories = new HashSet<>();
@@ -123,6 +136,7 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         this.influxDBMetadataService = influxDBMetadataService;
         this.configuration = new InfluxDBConfiguration(config);
         if (configuration.isValid()) {
+            this.pointsBuffer = new InfluxDBWriteBuffer(configuration.getQueueSize(), createSpillFile());
             this.influxDBRepository = createInfluxDBRepository();
             this.influxDBRepository.connect();
             this.storeJob = ThreadPoolManager.getScheduledPool("org.openhab.influxdb")
@@ -144,6 +158,20 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         };
     }
 
+    private @Nullable InfluxDBSpillFile createSpillFile() {
+        int spillFileSize = configuration.getSpillFileSize();
+        if (spillFileSize <= 0) {
+            return null;
+        }
+        try {
+            return new InfluxDBSpillFile(SPILL_FILE, Math.toIntExact(1024L * 1024 * spillFileSize));
+        } catch (IOException e) {
+            logger.warn("Failed to open spill file {}, points exceeding the queue size will be dropped: {}",
+                    SPILL_FILE, e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Disconnect from database when service is deactivated
      */
@@ -154,9 +182,10 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         storeJob.cancel(false);
         commit(); // ensure we at least tried to store the data;
 
-        if (!pointsQueue.isEmpty()) {
-            logger.warn("InfluxDB failed to finally store {} points.", pointsQueue.size());
+        if (!pointsBuffer.isEmpty()) {
+            logger.warn("InfluxDB failed to finally store {} points.", pointsBuffer.size());
         }
+        pointsBuffer.close();
 
         influxDBRepository.disconnect();
         logger.info("InfluxDB persistence service stopped.");
@@ -209,10 +238,10 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
                 logger.trace("Ignoring item {}, conversion to an InfluxDB point failed.", item.getName());
                 return;
             }
-            if (pointsQueue.offer(point)) {
+            if (pointsBuffer.add(point)) {
                 logger.trace("Queued {} for item {}", point, item);
             } else {
-                logger.warn("Failed to queue {} for item {}", point, item);
+                logger.warn("Failed to queue {} for item {}, write buffer is full", point, item);
             }
         });
     }
@@ -249,9 +278,16 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
                     itemName, filter.getOrdering().toString(), filter.getState(), filter.getOperator(),
                     filter.getBeginDate(), filter.getEndDate(), filter.getPageSize(), filter.getPageNumber());
 
-            List<InfluxDBRepository.InfluxRow> results = influxDBRepository.query(filter,
-                    configuration.getRetentionPolicy(), alias);
-            return results.stream().map(r -> mapRowToHistoricItem(r, itemName)).collect(Collectors.toList());
+            InfluxDBQueryResult result = new InfluxDBQueryResult(
+                    () -> influxDBRepository.query(filter, configuration.getRetentionPolicy(), alias),
+                    r -> mapRowToHistoricItem(r, itemName));
+            if (filter.getPageSize() != Integer.MAX_VALUE) {
+                // paged results are small, materialize them so the query is not kept open by a partial iteration
+                List<HistoricItem> items = new ArrayList<>();
+                result.forEach(items::add);
+                return items;
+            }
+            return result;
         } else {
             logger.debug("Query for persisted data ignored, InfluxDB is not connected");
             return List.of();
@@ -284,19 +320,37 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     }
 
     private void commit() {
-        if (!pointsQueue.isEmpty() && checkConnection()) {
-            List<InfluxPoint> points = new ArrayList<>();
-            pointsQueue.drainTo(points);
+        while (!pointsBuffer.isEmpty() && checkConnection()) {
+            List<InfluxPoint> points = pointsBuffer.peek(batchSize.get());
+            long start = System.nanoTime();
             if (!influxDBRepository.write(points)) {
-                logger.warn("Re-queuing {} elements, failed to write batch.", points.size());
-                pointsQueue.addAll(points);
+                logger.warn("Keeping {} elements queued, failed to write batch.", points.size());
+                batchSize.onFailure();
                 influxDBRepository.disconnect();
-            } else {
-                logger.trace("Wrote {} elements to database", points.size());
+                return;
             }
+            long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            pointsBuffer.remove(points.size());
+            batchSize.onSuccess(latency);
+            logger.trace("Wrote {} elements to database in {} ms", points.size(), latency);
         }
     }
 
+    /**
+     * Returns statistics of the write buffer, used by the console command.
+     *
+     * @return the statistics, ordered for display
+     */
+    public Map<String, Number> getWriteStatistics() {
+        Map<String, Number> statistics = new LinkedHashMap<>();
+        statistics.put("queuedPoints", pointsBuffer.size());
+        statistics.put("spilledBytes", pointsBuffer.getSpilledBytes());
+        statistics.put("droppedPoints", pointsBuffer.getDroppedPoints());
+        statistics.put("batchSize", batchSize.get());
+        statistics.put("lastWriteLatencyMillis", batchSize.getLastLatency());
+        return statistics;
+    }
+
     /**
      * Convert incoming data to an {@link InfluxPoint} for further processing. This is needed because storage is
      * asynchronous and the item data may have changed.
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Number of points written to InfluxDB at once, adapted to the observed write latency.
+ *
+ * The batch size is halved when a write is slower than the target latency or fails, and doubled when a write takes
+ * less than a quarter of the target latency.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBBatchSize {
+    private final int minSize;
+    private final int maxSize;
+    private final long targetLatency;
+    private int size;
+    private long lastLatency;
+
+    /**
+     * @param minSize lower bound of the batch size
+     * @param maxSize upper bound and initial value of the batch size
+     * @param targetLatency write latency in milliseconds the batch size is adjusted to
+     */
+    public InfluxDBBatchSize(int minSize, int maxSize, long targetLatency) {
+        this.minSize = Math.max(minSize, 1);
+        this.maxSize = Math.max(maxSize, this.minSize);
+        this.targetLatency = targetLatency;
+        this.size = this.maxSize;
+    }
+
+    public synchronized int get() {
+        return size;
+    }
+
+    /**
+     * @return the latency of the last successful write in milliseconds
+     */
+    public synchronized long getLastLatency() {
+        return lastLatency;
+    }
+
+    /**
+     * Adjusts the batch size after a successful write.
+     *
+     * @param latency duration of the write in milliseconds
+     */
+    public synchronized void onSuccess(long latency) {
+        lastLatency = latency;
+        if (latency > targetLatency) {
+            size = Math.max(size / 2, minSize);
+        } else if (latency < targetLatency / 4) {
+            size = (int) Math.min(2L * size, maxSize);
+        }
+    }
+
+    /**
+     * Reduces the batch size after a failed write.
+     */
+    public synchronized void onFailure() {
+        size = Math.max(size / 2, minSize);
+    }
+}
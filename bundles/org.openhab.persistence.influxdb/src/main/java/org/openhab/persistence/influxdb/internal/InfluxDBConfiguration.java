@@ -39,6 +39,10 @@ public class InfluxDBConfiguration {
     public static final String ADD_CATEGORY_TAG_PARAM = "addCategoryTag";
     public static final String ADD_LABEL_TAG_PARAM = "addLabelTag";
     public static final String ADD_TYPE_TAG_PARAM = "addTypeTag";
+    public static final String QUEUE_SIZE_PARAM = "queueSize";
+    public static final String SPILL_FILE_SIZE_PARAM = "spillFileSize";
+    /** maximum size of the spill file in MB, it is mapped into memory as a single buffer */
+    public static final int MAX_SPILL_FILE_SIZE = 1024;
     private final Logger logger = LoggerFactory.getLogger(InfluxDBConfiguration.class);
     private final String url;
     private final String user;
@@ -51,6 +55,8 @@ public class InfluxDBConfiguration {
     private final boolean addCategoryTag;
     private final boolean addTypeTag;
     private final boolean addLabelTag;
+    private final int queueSize;
+    private final int spillFileSize;
 
     public InfluxDBConfiguration(Map<String, Object> config) {
         url = ConfigParser.valueAsOrElse(config.get(URL_PARAM), String.class, "http://127.0.0.1:8086");
@@ -64,6 +70,14 @@ public class InfluxDBConfiguration {
         addCategoryTag = ConfigParser.valueAsOrElse(config.get(ADD_CATEGORY_TAG_PARAM), Boolean.class, false);
         addLabelTag = ConfigParser.valueAsOrElse(config.get(ADD_LABEL_TAG_PARAM), Boolean.class, false);
         addTypeTag = ConfigParser.valueAsOrElse(config.get(ADD_TYPE_TAG_PARAM), Boolean.class, false);
+        queueSize = ConfigParser.valueAsOrElse(config.get(QUEUE_SIZE_PARAM), Integer.class, 100000);
+        int spillFileSize = ConfigParser.valueAsOrElse(config.get(SPILL_FILE_SIZE_PARAM), Integer.class, 0);
+        if (spillFileSize > MAX_SPILL_FILE_SIZE) {
+            logger.warn("Spill file size of {} MB exceeds the maximum, using {} MB", spillFileSize,
+                    MAX_SPILL_FILE_SIZE);
+            spillFileSize = MAX_SPILL_FILE_SIZE;
+        }
+        this.spillFileSize = spillFileSize;
     }
 
     private InfluxDBVersion parseInfluxVersion(@Nullable String value) {
@@ -154,12 +168,24 @@ public class InfluxDBConfiguration {
         return version;
     }
 
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * @return size of the spill file in MB, 0 if disabled
+     */
+    public int getSpillFileSize() {
+        return spillFileSize;
+    }
+
     @Override
     public String toString() {
         return "InfluxDBConfiguration{url='" + url + "', user='" + user + "', password='" + password.length()
                 + " chars', token='" + token.length() + " chars', databaseName='" + databaseName
                 + "', retentionPolicy='" + retentionPolicy + "', version=" + version + ", replaceUnderscore="
                 + replaceUnderscore + ", addCategoryTag=" + addCategoryTag + ", addTypeTag=" + addTypeTag
-                + ", addLabelTag=" + addLabelTag + '}';
+                + ", addLabelTag=" + addLabelTag + ", queueSize=" + queueSize + ", spillFileSize=" + spillFileSize
+                + '}';
     }
 }
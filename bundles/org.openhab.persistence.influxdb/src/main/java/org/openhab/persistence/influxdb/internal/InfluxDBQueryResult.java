@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.lang.ref.Cleaner;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.influxdb.internal.InfluxDBRepository.InfluxRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lazily evaluated result of a query.
+ *
+ * The query is executed by every call to {@link #iterator()}, so the result can be iterated more than once. Rows are
+ * converted to {@link HistoricItem}s while they are iterated, so memory usage does not depend on the number of rows.
+ * The query is closed as soon as all rows have been read, reading or converting a row fails or the iterator is closed.
+ * Only an iterator which is abandoned before its end and never closed is left to close the query when it is garbage
+ * collected.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBQueryResult implements Iterable<HistoricItem> {
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBQueryResult.class);
+
+    private final Supplier<Stream<InfluxRow>> query;
+    private final Function<InfluxRow, HistoricItem> mapper;
+
+    /**
+     * @param query executes the query
+     * @param mapper converts a row to a {@link HistoricItem}
+     */
+    public InfluxDBQueryResult(Supplier<Stream<InfluxRow>> query, Function<InfluxRow, HistoricItem> mapper) {
+        this.query = query;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Executes the query.
+     *
+     * @return an iterator over the rows, which is {@link AutoCloseable}
+     */
+    @Override
+    public Iterator<HistoricItem> iterator() {
+        return new RowIterator(query.get());
+    }
+
+    private class RowIterator implements Iterator<HistoricItem>, AutoCloseable {
+        private final Iterator<InfluxRow> rows;
+        private final StreamCloser closer;
+        // closes the stream of an abandoned iterator
+        private final Cleaner.Cleanable cleanable;
+        private boolean closed;
+
+        private RowIterator(Stream<InfluxRow> stream) {
+            this.rows = stream.iterator();
+            this.closer = new StreamCloser(stream);
+            this.cleanable = CLEANER.register(this, closer);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+            try {
+                if (rows.hasNext()) {
+                    return true;
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to read query result: {}", e.getMessage());
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        public HistoricItem next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return mapper.apply(rows.next());
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            closer.run();
+            cleanable.clean();
+        }
+    }
+
+    /**
+     * Closes a stream once. Must not reference the iterator, so the iterator can be garbage collected.
+     */
+    private static class StreamCloser implements Runnable {
+        private final Stream<InfluxRow> stream;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private StreamCloser(Stream<InfluxRow> stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public void run() {
+            if (closed.compareAndSet(false, true)) {
+                stream.close();
+            }
+        }
+    }
+}
@@ -15,6 +15,7 @@ package org.openhab.persistence.influxdb.internal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -63,12 +64,15 @@ public interface InfluxDBRepository {
     /**
      * Executes Flux query
      *
+     * The results are read from the server while the returned stream is consumed. The stream must be closed to
+     * release the connection if it is not consumed completely.
+     *
      * @param filter the query filter
      * @param alias
      * @return Query results
      *
      */
-    List<InfluxRow> query(FilterCriteria filter, String retentionPolicy, @Nullable String alias);
+    Stream<InfluxRow> query(FilterCriteria filter, String retentionPolicy, @Nullable String alias);
 
     /**
      * Write points to database
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Memory-mapped overflow segment for {@link InfluxPoint}s that do not fit into the in-memory write buffer.
+ *
+ * Points are appended as length-prefixed records and read back in the order they were appended. The read and write
+ * positions are kept in the file header, so points that could not be written before a restart are replayed.
+ *
+ * When the end of the file is reached, the unread records are moved to its beginning in chunks of
+ * {@value #COMPACT_CHUNK_SIZE} bytes, so the spilled points are never copied to the heap as a whole.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBSpillFile implements AutoCloseable {
+    private static final int HEADER_SIZE = 8;
+    private static final int READ_POSITION_OFFSET = 0;
+    private static final int WRITE_POSITION_OFFSET = 4;
+    static final int COMPACT_CHUNK_SIZE = 64 * 1024;
+
+    private static final byte TYPE_STRING = 0;
+    private static final byte TYPE_DECIMAL = 1;
+    private static final byte TYPE_LONG = 2;
+    private static final byte TYPE_INTEGER = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_BOOLEAN = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBSpillFile.class);
+
+    private final Path path;
+    private final FileChannel channel;
+    // null once the file is closed, so the mapping is released as soon as possible
+    private @Nullable MappedByteBuffer buffer;
+    private final int capacity;
+    private int readPosition;
+    private int writePosition;
+
+    /**
+     * Opens or creates the spill file.
+     *
+     * @param path location of the file
+     * @param capacity size of the file in bytes
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public InfluxDBSpillFile(Path path, int capacity) throws IOException {
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.path = path;
+        this.capacity = Math.max(capacity, HEADER_SIZE);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.capacity);
+        this.buffer = buffer;
+
+        readPosition = buffer.getInt(READ_POSITION_OFFSET);
+        writePosition = buffer.getInt(WRITE_POSITION_OFFSET);
+        if (readPosition < HEADER_SIZE || readPosition > writePosition || writePosition > this.capacity) {
+            reset(buffer);
+        } else if (!isEmpty()) {
+            logger.info("Found {} bytes of points in spill file {}, they will be written to InfluxDB.",
+                    getUsedBytes(), path);
+        }
+    }
+
+    /**
+     * Appends a point.
+     *
+     * @param point the point to append
+     * @return <code>true</code> if the point was appended, <code>false</code> if the file is full or closed
+     */
+    public synchronized boolean append(InfluxPoint point) {
+        MappedByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            return false;
+        }
+        byte[] record;
+        try {
+            record = encode(point);
+        } catch (IOException e) {
+            logger.warn("Failed to serialize {}: {}", point, e.getMessage());
+            return false;
+        }
+        int required = Integer.BYTES + record.length;
+        if (writePosition + required > capacity) {
+            compact(buffer);
+            if (writePosition + required > capacity) {
+                return false;
+            }
+        }
+        buffer.putInt(writePosition, record.length);
+        buffer.put(writePosition + Integer.BYTES, record);
+        writePosition += required;
+        buffer.putInt(WRITE_POSITION_OFFSET, writePosition);
+        return true;
+    }
+
+    /**
+     * Removes and returns the oldest point.
+     *
+     * @return the oldest point or <code>null</code> if the file is empty or closed
+     */
+    public synchronized @Nullable InfluxPoint poll() {
+        MappedByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            return null;
+        }
+        while (!isEmpty()) {
+            int length = buffer.getInt(readPosition);
+            if (length < 0 || readPosition + Integer.BYTES + length > writePosition) {
+                logger.warn("Spill file is corrupted, discarding {} bytes.", getUsedBytes());
+                reset(buffer);
+                return null;
+            }
+            byte[] record = new byte[length];
+            buffer.get(readPosition + Integer.BYTES, record);
+            readPosition += Integer.BYTES + length;
+            if (readPosition == writePosition) {
+                reset(buffer);
+            } else {
+                buffer.putInt(READ_POSITION_OFFSET, readPosition);
+            }
+            try {
+                return decode(record);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Discarding unreadable point from spill file: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    public synchronized boolean isEmpty() {
+        return readPosition == writePosition;
+    }
+
+    /**
+     * @return the number of bytes occupied by points waiting to be written
+     */
+    public synchronized int getUsedBytes() {
+        return writePosition - readPosition;
+    }
+
+    /**
+     * Writes the unread points to disk and closes the file. An empty file is deleted, otherwise the file is truncated
+     * to the unread points.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        MappedByteBuffer buffer = this.buffer;
+        if (buffer == null) {
+            return;
+        }
+        buffer.force();
+        this.buffer = null;
+        try {
+            if (isEmpty()) {
+                channel.close();
+                Files.deleteIfExists(path);
+            } else {
+                channel.truncate(writePosition);
+            }
+        } catch (IOException e) {
+            // some platforms do not allow to change a file while it is mapped, it is reused on the next start
+            logger.debug("Failed to shrink spill file {}: {}", path, e.getMessage());
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void reset(MappedByteBuffer buffer) {
+        readPosition = HEADER_SIZE;
+        writePosition = HEADER_SIZE;
+        buffer.putInt(READ_POSITION_OFFSET, readPosition);
+        buffer.putInt(WRITE_POSITION_OFFSET, writePosition);
+    }
+
+    /**
+     * Moves the unread records to the beginning of the file. The records are moved chunk by chunk from the front, so
+     * a chunk never overwrites records which have not been moved yet.
+     */
+    private void compact(MappedByteBuffer buffer) {
+        if (readPosition == HEADER_SIZE) {
+            return;
+        }
+        int used = getUsedBytes();
+        byte[] chunk = new byte[Math.min(used, COMPACT_CHUNK_SIZE)];
+        for (int moved = 0; moved < used; moved += chunk.length) {
+            int length = Math.min(chunk.length, used - moved);
+            buffer.get(readPosition + moved, chunk, 0, length);
+            buffer.put(HEADER_SIZE + moved, chunk, 0, length);
+        }
+        readPosition = HEADER_SIZE;
+        writePosition = HEADER_SIZE + used;
+        buffer.putInt(READ_POSITION_OFFSET, readPosition);
+        buffer.putInt(WRITE_POSITION_OFFSET, writePosition);
+    }
+
+    private static byte[] encode(InfluxPoint point) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeString(out, point.getMeasurementName());
+            out.writeLong(point.getTime().getEpochSecond());
+            out.writeInt(point.getTime().getNano());
+            Object value = point.getValue();
+            if (value instanceof BigDecimal decimal) {
+                out.writeByte(TYPE_DECIMAL);
+                writeString(out, decimal.toString());
+            } else if (value instanceof Long longValue) {
+                out.writeByte(TYPE_LONG);
+                out.writeLong(longValue);
+            } else if (value instanceof Integer intValue) {
+                out.writeByte(TYPE_INTEGER);
+                out.writeInt(intValue);
+            } else if (value instanceof Double doubleValue) {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble(doubleValue);
+            } else if (value instanceof Boolean booleanValue) {
+                out.writeByte(TYPE_BOOLEAN);
+                out.writeBoolean(booleanValue);
+            } else if (value instanceof Number number) {
+                out.writeByte(TYPE_DECIMAL);
+                writeString(out, new BigDecimal(number.toString()).toString());
+            } else {
+                out.writeByte(TYPE_STRING);
+                writeString(out, String.valueOf(value));
+            }
+            Map<String, String> tags = point.getTags();
+            out.writeInt(tags.size());
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                writeString(out, tag.getKey());
+                writeString(out, tag.getValue());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static InfluxPoint decode(byte[] record) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            InfluxPoint.Builder builder = InfluxPoint.newBuilder(readString(in));
+            builder.withTime(Instant.ofEpochSecond(in.readLong(), in.readInt()));
+            byte type = in.readByte();
+            builder.withValue(switch (type) {
+                case TYPE_DECIMAL -> new BigDecimal(readString(in));
+                case TYPE_LONG -> in.readLong();
+                case TYPE_INTEGER -> in.readInt();
+                case TYPE_DOUBLE -> in.readDouble();
+                case TYPE_BOOLEAN -> in.readBoolean();
+                case TYPE_STRING -> readString(in);
+                default -> throw new IOException("Unknown value type " + type);
+            });
+            int tagCount = in.readInt();
+            for (int i = 0; i < tagCount; i++) {
+                builder.withTag(readString(in), readString(in));
+            }
+            return builder.build();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded buffer for points waiting to be written to InfluxDB.
+ *
+ * Points are kept in memory up to the configured capacity. Further points are appended to the optional
+ * {@link InfluxDBSpillFile} and moved back into memory as soon as there is room, so points are always written in the
+ * order they were stored. If neither memory nor spill file has room, new points are dropped.
+ *
+ * Points are only removed after they have been written, so a failed write does not need to re-queue them.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBWriteBuffer {
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBWriteBuffer.class);
+
+    private final Deque<InfluxPoint> points = new ArrayDeque<>();
+    private final int capacity;
+    private final @Nullable InfluxDBSpillFile spillFile;
+    private long droppedPoints;
+
+    /**
+     * @param capacity maximum number of points kept in memory
+     * @param spillFile overflow for points not fitting into memory, or <code>null</code> to drop them
+     */
+    public InfluxDBWriteBuffer(int capacity, @Nullable InfluxDBSpillFile spillFile) {
+        this.capacity = Math.max(capacity, 1);
+        this.spillFile = spillFile;
+        refill();
+    }
+
+    /**
+     * Adds a point to the end of the buffer.
+     *
+     * @param point the point to add
+     * @return <code>true</code> if the point was added, <code>false</code> if it was dropped
+     */
+    public synchronized boolean add(InfluxPoint point) {
+        InfluxDBSpillFile spillFile = this.spillFile;
+        if ((spillFile == null || spillFile.isEmpty()) && points.size() < capacity) {
+            points.addLast(point);
+            return true;
+        }
+        if (spillFile != null && spillFile.append(point)) {
+            return true;
+        }
+        droppedPoints++;
+        return false;
+    }
+
+    /**
+     * Returns the oldest points without removing them.
+     *
+     * @param maxCount maximum number of points to return
+     * @return the oldest points, empty if the buffer is empty
+     */
+    public synchronized List<InfluxPoint> peek(int maxCount) {
+        List<InfluxPoint> result = new ArrayList<>(Math.min(maxCount, points.size()));
+        Iterator<InfluxPoint> iterator = points.iterator();
+        while (result.size() < maxCount && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    /**
+     * Removes the oldest points after they have been written.
+     *
+     * @param count number of points to remove
+     */
+    public synchronized void remove(int count) {
+        for (int i = 0; i < count && !points.isEmpty(); i++) {
+            points.removeFirst();
+        }
+        refill();
+    }
+
+    public synchronized boolean isEmpty() {
+        return points.isEmpty();
+    }
+
+    /**
+     * @return the number of points kept in memory
+     */
+    public synchronized int size() {
+        return points.size();
+    }
+
+    /**
+     * @return the number of bytes occupied in the spill file
+     */
+    public synchronized long getSpilledBytes() {
+        InfluxDBSpillFile spillFile = this.spillFile;
+        return spillFile != null ? spillFile.getUsedBytes() : 0;
+    }
+
+    /**
+     * @return the number of points dropped because the buffer was full
+     */
+    public synchronized long getDroppedPoints() {
+        return droppedPoints;
+    }
+
+    public synchronized void close() {
+        InfluxDBSpillFile spillFile = this.spillFile;
+        if (spillFile != null) {
+            try {
+                spillFile.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close spill file: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void refill() {
+        InfluxDBSpillFile spillFile = this.spillFile;
+        if (spillFile == null) {
+            return;
+        }
+        while (points.size() < capacity) {
+            InfluxPoint point = spillFile.poll();
+            if (point == null) {
+                break;
+            }
+            points.addLast(point);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal.influx1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.influxdb.Cancellable;
+import org.influxdb.dto.QueryResult;
+import org.openhab.persistence.influxdb.internal.InfluxDBRepository.InfluxRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Iterates over the rows of a chunked InfluxDB 1 query.
+ *
+ * The client delivers the chunks asynchronously. At most {@link #MAX_PENDING_CHUNKS} chunks are buffered, the client
+ * is blocked until the consumer has read them. Closing the iterator cancels the query.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+class InfluxDB1ChunkedQueryIterator implements Iterator<InfluxRow>, AutoCloseable {
+    private static final int MAX_PENDING_CHUNKS = 2;
+    private static final long TIMEOUT = 60; // in s
+    // the client reports the end of the response as a result with this error before it calls onComplete
+    private static final String END_OF_RESPONSE = "DONE";
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDB1ChunkedQueryIterator.class);
+
+    // marks the end of the query, compared by identity
+    private final List<InfluxRow> endOfQuery = new ArrayList<>();
+    private final BlockingQueue<List<InfluxRow>> chunks = new ArrayBlockingQueue<>(MAX_PENDING_CHUNKS);
+    private final Function<QueryResult, List<InfluxRow>> converter;
+
+    private volatile @Nullable Cancellable cancellable;
+    private volatile boolean closed;
+    private Iterator<InfluxRow> currentChunk = Collections.emptyIterator();
+    private boolean finished;
+
+    /**
+     * @param converter converts a chunk of the query result to rows
+     */
+    InfluxDB1ChunkedQueryIterator(Function<QueryResult, List<InfluxRow>> converter) {
+        this.converter = converter;
+    }
+
+    void onNext(Cancellable cancellable, QueryResult result) {
+        this.cancellable = cancellable;
+        if (closed) {
+            cancellable.cancel();
+            return;
+        }
+        if (END_OF_RESPONSE.equals(result.getError())) {
+            return;
+        }
+        enqueue(converter.apply(result));
+    }
+
+    void onComplete() {
+        enqueue(endOfQuery);
+    }
+
+    void onFailure(Throwable e) {
+        logger.warn("Failed to read query result: {}", e.getMessage());
+        enqueue(endOfQuery);
+    }
+
+    private void enqueue(List<InfluxRow> chunk) {
+        try {
+            if (!closed && !chunks.offer(chunk, TIMEOUT, TimeUnit.SECONDS)) {
+                logger.debug("Query result is not consumed, cancelling query");
+                cancel();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!currentChunk.hasNext() && !finished) {
+            try {
+                List<InfluxRow> chunk = chunks.poll(TIMEOUT, TimeUnit.SECONDS);
+                if (chunk == null) {
+                    logger.warn("Timeout while reading query result");
+                    close();
+                } else if (chunk == endOfQuery) {
+                    finished = true;
+                } else {
+                    currentChunk = chunk.iterator();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+            }
+        }
+        return currentChunk.hasNext();
+    }
+
+    @Override
+    public InfluxRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return currentChunk.next();
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        currentChunk = Collections.emptyIterator();
+        cancel();
+    }
+
+    private void cancel() {
+        closed = true;
+        Cancellable cancellable = this.cancellable;
+        if (cancellable != null && !cancellable.isCanceled()) {
+            cancellable.cancel();
+        }
+        // unblock the client if it is waiting for free space
+        chunks.clear();
+    }
+}
@@ -21,7 +21,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -54,6 +58,8 @@ import com.influxdb.exceptions.InfluxException;
  */
 @NonNullByDefault
 public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
+    private static final int QUERY_CHUNK_SIZE = 10000;
+
     private final Logger logger = LoggerFactory.getLogger(InfluxDB1RepositoryImpl.class);
     private final InfluxDBConfiguration configuration;
     private final FilterCriteriaQueryCreator queryCreator;
@@ -165,22 +171,36 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
     }
 
     @Override
-    public List<InfluxRow> query(FilterCriteria filter, String retentionPolicy, @Nullable String alias) {
+    public Stream<InfluxRow> query(FilterCriteria filter, String retentionPolicy, @Nullable String alias) {
         try {
             final InfluxDB currentClient = client;
             if (currentClient != null) {
                 String query = queryCreator.createQuery(filter, retentionPolicy, alias);
                 logger.trace("Query {}", query);
                 Query parsedQuery = new Query(query, configuration.getDatabaseName());
-                List<QueryResult.Result> results = currentClient.query(parsedQuery, TimeUnit.MILLISECONDS).getResults();
-                return convertClientResultToRepository(results);
+                // the chunks are delivered asynchronously and handed over to the consumer of the stream
+                InfluxDB1ChunkedQueryIterator iterator = new InfluxDB1ChunkedQueryIterator(
+                        this::convertClientResultToRepository);
+                currentClient.query(parsedQuery, QUERY_CHUNK_SIZE, iterator::onNext, iterator::onComplete,
+                        iterator::onFailure);
+                return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                        .onClose(iterator::close);
             } else {
                 throw new InfluxException("API not present");
             }
         } catch (InfluxException | InfluxDBException e) {
             logger.warn("Failed to execute query '{}': {}", filter, e.getMessage());
+            return Stream.empty();
+        }
+    }
+
+    private List<InfluxRow> convertClientResultToRepository(QueryResult queryResult) {
+        if (queryResult.getError() != null) {
+            logger.warn("{}", queryResult.getError());
             return List.of();
         }
+        List<QueryResult.Result> results = queryResult.getResults();
+        return results == null ? List.of() : convertClientResultToRepository(results);
     }
 
     private List<InfluxRow> convertClientResultToRepository(List<QueryResult.Result> results) {
@@ -211,8 +231,7 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
                                 throw new IllegalStateException("missing column");
                             }
                             for (List<Object> valueObject : allValues) {
-                                Double rawTime = (Double) valueObject.get(timestampColumn);
-                                Instant time = Instant.ofEpochMilli(rawTime.longValue());
+                                Instant time = convertTime(valueObject.get(timestampColumn));
                                 Object value = valueObject.get(valueColumn);
                                 String itemName = itemNameColumn == -1 ? defaultItemName
                                         : Objects.requireNonNullElse((String) valueObject.get(itemNameColumn),
@@ -228,6 +247,16 @@ public class InfluxDB1RepositoryImpl implements InfluxDBRepository {
         return rows;
     }
 
+    /**
+     * Chunked queries return the time as RFC3339 string, other queries as epoch milliseconds.
+     */
+    private Instant convertTime(Object rawTime) {
+        if (rawTime instanceof Number number) {
+            return Instant.ofEpochMilli(number.longValue());
+        }
+        return Instant.parse(rawTime.toString());
+    }
+
     @Override
     public Map<String, Integer> getStoredItemsCount() {
         return Collections.emptyMap();
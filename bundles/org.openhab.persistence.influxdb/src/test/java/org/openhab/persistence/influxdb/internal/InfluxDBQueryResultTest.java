@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.influxdb.internal.InfluxDBRepository.InfluxRow;
+
+/**
+ * Tests the {@link InfluxDBQueryResult}.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBQueryResultTest {
+    private final AtomicInteger executions = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    private Stream<InfluxRow> rows(int count) {
+        executions.incrementAndGet();
+        return IntStream.range(0, count).mapToObj(i -> new InfluxRow(Instant.ofEpochSecond(i), "item", i))
+                .onClose(closed::incrementAndGet);
+    }
+
+    private static HistoricItem toHistoricItem(InfluxRow row) {
+        return new InfluxDBHistoricItem(row.itemName(), new DecimalType((Integer) row.value()), row.time());
+    }
+
+    @Test
+    public void queryIsExecutedOnIteration() {
+        InfluxDBQueryResult result = new InfluxDBQueryResult(() -> rows(3), InfluxDBQueryResultTest::toHistoricItem);
+        assertThat(executions.get(), is(0));
+
+        List<HistoricItem> items = new ArrayList<>();
+        result.forEach(items::add);
+        assertThat(items.stream().map(HistoricItem::getState).toList(),
+                is(List.of(new DecimalType(0), new DecimalType(1), new DecimalType(2))));
+        assertThat(executions.get(), is(1));
+        assertThat(closed.get(), is(1));
+    }
+
+    @Test
+    public void resultCanBeIteratedTwice() {
+        InfluxDBQueryResult result = new InfluxDBQueryResult(() -> rows(3), InfluxDBQueryResultTest::toHistoricItem);
+
+        List<HistoricItem> first = new ArrayList<>();
+        result.forEach(first::add);
+        List<HistoricItem> second = new ArrayList<>();
+        result.forEach(second::add);
+
+        assertThat(second.stream().map(HistoricItem::getState).toList(),
+                is(first.stream().map(HistoricItem::getState).toList()));
+        assertThat(second.size(), is(3));
+        // every iteration executes the query and closes it at the end
+        assertThat(executions.get(), is(2));
+        assertThat(closed.get(), is(2));
+    }
+
+    @Test
+    public void closingIteratorClosesQuery() throws Exception {
+        InfluxDBQueryResult result = new InfluxDBQueryResult(() -> rows(5), InfluxDBQueryResultTest::toHistoricItem);
+
+        Iterator<HistoricItem> iterator = result.iterator();
+        assertThat(iterator.next().getInstant(), is(Instant.ofEpochSecond(0)));
+        assertThat(iterator, is(instanceOf(AutoCloseable.class)));
+        ((AutoCloseable) iterator).close();
+        ((AutoCloseable) iterator).close();
+
+        assertThat(closed.get(), is(1));
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    @Test
+    public void failingConversionClosesQuery() {
+        InfluxDBQueryResult result = new InfluxDBQueryResult(() -> rows(5), row -> {
+            throw new IllegalArgumentException("invalid state");
+        });
+
+        Iterator<HistoricItem> iterator = result.iterator();
+        assertThrows(IllegalArgumentException.class, iterator::next);
+        assertThat(closed.get(), is(1));
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    @Test
+    public void failingQueryEndsIteration() {
+        InfluxDBQueryResult result = new InfluxDBQueryResult(() -> rows(5).peek(row -> {
+            if (row.time().getEpochSecond() == 2) {
+                throw new IllegalStateException("connection reset");
+            }
+        }), InfluxDBQueryResultTest::toHistoricItem);
+
+        Iterator<HistoricItem> iterator = result.iterator();
+        assertThat(iterator.next().getInstant(), is(Instant.ofEpochSecond(0)));
+        assertThat(iterator.next().getInstant(), is(Instant.ofEpochSecond(1)));
+        assertThat(iterator.hasNext(), is(false));
+        assertThat(closed.get(), is(1));
+    }
+}
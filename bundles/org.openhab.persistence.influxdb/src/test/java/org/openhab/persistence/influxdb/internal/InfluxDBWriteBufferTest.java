@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link InfluxDBWriteBuffer}, {@link InfluxDBSpillFile} and {@link InfluxDBBatchSize}.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBWriteBufferTest {
+    private static final int SPILL_FILE_SIZE = 64 * 1024;
+
+    private @TempDir @NonNullByDefault({}) Path tempDir;
+
+    private static InfluxPoint point(int i) {
+        return InfluxPoint.newBuilder("measurement").withTime(Instant.ofEpochSecond(1700000000L + i, 1000))
+                .withValue(BigDecimal.valueOf(i)).withTag("item", "Item" + i).build();
+    }
+
+    private static List<Object> values(List<InfluxPoint> points) {
+        return points.stream().map(InfluxPoint::getValue).toList();
+    }
+
+    private static List<Object> decimals(int... values) {
+        return Arrays.stream(values).mapToObj(BigDecimal::valueOf).map(Object.class::cast).toList();
+    }
+
+    @Test
+    public void pointsExceedingCapacityAreDroppedWithoutSpillFile() {
+        InfluxDBWriteBuffer buffer = new InfluxDBWriteBuffer(2, null);
+        assertThat(buffer.add(point(0)), is(true));
+        assertThat(buffer.add(point(1)), is(true));
+        assertThat(buffer.add(point(2)), is(false));
+
+        assertThat(buffer.size(), is(2));
+        assertThat(buffer.getDroppedPoints(), is(1L));
+    }
+
+    @Test
+    public void peekDoesNotRemovePoints() {
+        InfluxDBWriteBuffer buffer = new InfluxDBWriteBuffer(10, null);
+        for (int i = 0; i < 5; i++) {
+            buffer.add(point(i));
+        }
+
+        assertThat(values(buffer.peek(3)), is(decimals(0, 1, 2)));
+        assertThat(buffer.size(), is(5));
+        buffer.remove(3);
+        assertThat(values(buffer.peek(3)), is(decimals(3, 4)));
+    }
+
+    @Test
+    public void spilledPointsAreReplayedInOrder() throws IOException {
+        InfluxDBWriteBuffer buffer = new InfluxDBWriteBuffer(3,
+                new InfluxDBSpillFile(tempDir.resolve("spill.dat"), SPILL_FILE_SIZE));
+        for (int i = 0; i < 10; i++) {
+            assertThat(buffer.add(point(i)), is(true));
+        }
+        assertThat(buffer.size(), is(3));
+        assertThat(buffer.getSpilledBytes(), is(greaterThan(0L)));
+
+        int expected = 0;
+        while (!buffer.isEmpty()) {
+            List<InfluxPoint> points = buffer.peek(2);
+            for (InfluxPoint point : points) {
+                assertThat(point.getValue(), is(BigDecimal.valueOf(expected)));
+                assertThat(point.getTime(), is(Instant.ofEpochSecond(1700000000L + expected, 1000)));
+                assertThat(point.getTags(), is(Map.of("item", "Item" + expected)));
+                expected++;
+            }
+            buffer.remove(points.size());
+        }
+        assertThat(expected, is(10));
+        assertThat(buffer.getSpilledBytes(), is(0L));
+        buffer.close();
+    }
+
+    @Test
+    public void spilledPointsSurviveRestart() throws IOException {
+        Path path = tempDir.resolve("spill.dat");
+        InfluxDBWriteBuffer buffer = new InfluxDBWriteBuffer(1, new InfluxDBSpillFile(path, SPILL_FILE_SIZE));
+        for (int i = 0; i < 4; i++) {
+            buffer.add(point(i));
+        }
+        buffer.close();
+
+        InfluxDBWriteBuffer reopened = new InfluxDBWriteBuffer(10, new InfluxDBSpillFile(path, SPILL_FILE_SIZE));
+        assertThat(values(reopened.peek(10)), is(decimals(1, 2, 3)));
+        reopened.close();
+    }
+
+    @Test
+    public void spillFileKeepsValueTypes() throws IOException {
+        InfluxDBSpillFile spillFile = new InfluxDBSpillFile(tempDir.resolve("spill.dat"), SPILL_FILE_SIZE);
+        List<Object> values = List.of(BigDecimal.valueOf(12.5), 1, 1700000000000L, "ON", 2.5, true);
+        for (Object value : values) {
+            spillFile.append(InfluxPoint.newBuilder("m").withTime(Instant.EPOCH).withValue(value).build());
+        }
+        for (Object value : values) {
+            InfluxPoint point = Objects.requireNonNull(spillFile.poll());
+            assertThat(point.getValue(), is(value));
+        }
+        assertThat(spillFile.poll(), is(nullValue()));
+        spillFile.close();
+    }
+
+    @Test
+    public void fullSpillFileRejectsPoints() throws IOException {
+        InfluxDBSpillFile spillFile = new InfluxDBSpillFile(tempDir.resolve("spill.dat"), 256);
+        int appended = 0;
+        while (spillFile.append(point(appended))) {
+            appended++;
+        }
+        assertThat(appended, is(greaterThan(0)));
+
+        // reading the oldest point makes room for a new one
+        spillFile.poll();
+        assertThat(spillFile.append(point(appended)), is(true));
+        spillFile.close();
+    }
+
+    @Test
+    public void compactionMovesMoreThanOneChunk() throws IOException {
+        InfluxDBSpillFile spillFile = new InfluxDBSpillFile(tempDir.resolve("spill.dat"),
+                4 * InfluxDBSpillFile.COMPACT_CHUNK_SIZE);
+        int appended = 0;
+        while (spillFile.append(point(appended))) {
+            appended++;
+        }
+        // leave more than two chunks unread, then append until the unread points are moved to the beginning
+        int polled = appended / 3;
+        for (int i = 0; i < polled; i++) {
+            assertThat(Objects.requireNonNull(spillFile.poll()).getValue(), is(BigDecimal.valueOf(i)));
+        }
+        assertThat(spillFile.getUsedBytes(), is(greaterThan(2 * InfluxDBSpillFile.COMPACT_CHUNK_SIZE)));
+        while (spillFile.append(point(appended))) {
+            appended++;
+        }
+
+        for (int i = polled; i < appended; i++) {
+            assertThat(Objects.requireNonNull(spillFile.poll()).getValue(), is(BigDecimal.valueOf(i)));
+        }
+        assertThat(spillFile.poll(), is(nullValue()));
+        spillFile.close();
+    }
+
+    @Test
+    public void closingShrinksSpillFile() throws IOException {
+        Path path = tempDir.resolve("spill.dat");
+        InfluxDBSpillFile spillFile = new InfluxDBSpillFile(path, SPILL_FILE_SIZE);
+        spillFile.append(point(0));
+        spillFile.append(point(1));
+        spillFile.poll();
+        int used = spillFile.getUsedBytes();
+        spillFile.close();
+        assertThat(spillFile.append(point(2)), is(false));
+        assertThat(Files.size(path), is(lessThan((long) SPILL_FILE_SIZE)));
+        assertThat(Files.size(path), is(greaterThanOrEqualTo((long) used)));
+
+        InfluxDBSpillFile reopened = new InfluxDBSpillFile(path, SPILL_FILE_SIZE);
+        assertThat(Objects.requireNonNull(reopened.poll()).getValue(), is(BigDecimal.valueOf(1)));
+        reopened.close();
+        // an empty spill file is deleted
+        assertThat(Files.exists(path), is(false));
+    }
+
+    @Test
+    public void batchSizeAdaptsToLatency() {
+        InfluxDBBatchSize batchSize = new InfluxDBBatchSize(100, 1000, 1000);
+        assertThat(batchSize.get(), is(1000));
+
+        batchSize.onSuccess(2000);
+        assertThat(batchSize.get(), is(500));
+        batchSize.onFailure();
+        assertThat(batchSize.get(), is(250));
+        batchSize.onFailure();
+        batchSize.onFailure();
+        assertThat(batchSize.get(), is(100));
+
+        batchSize.onSuccess(500);
+        assertThat(batchSize.get(), is(100));
+        batchSize.onSuccess(100);
+        assertThat(batchSize.get(), is(200));
+        assertThat(batchSize.getLastLatency(), is(100L));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal.influx1;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.influxdb.Cancellable;
+import org.influxdb.dto.QueryResult;
+import org.junit.jupiter.api.Test;
+import org.openhab.persistence.influxdb.internal.InfluxDBRepository.InfluxRow;
+
+/**
+ * Tests the {@link InfluxDB1ChunkedQueryIterator}.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDB1ChunkedQueryIteratorTest {
+    private static final int CHUNKS = 10;
+
+    private volatile boolean canceled;
+
+    private final Cancellable cancellable = new Cancellable() {
+        @Override
+        public void cancel() {
+            canceled = true;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+    };
+
+    private static List<InfluxRow> convert(QueryResult result) {
+        assertThat(result.getError(), is(nullValue()));
+        List<InfluxRow> rows = new ArrayList<>();
+        for (QueryResult.Result statementResult : result.getResults()) {
+            for (QueryResult.Series series : statementResult.getSeries()) {
+                for (List<Object> values : series.getValues()) {
+                    rows.add(new InfluxRow(Instant.ofEpochSecond(((Number) values.get(0)).longValue()),
+                            series.getName(), values.get(1)));
+                }
+            }
+        }
+        return rows;
+    }
+
+    // a chunk with two rows
+    private static QueryResult chunk(int i) {
+        QueryResult.Series series = new QueryResult.Series();
+        series.setName("item");
+        series.setColumns(List.of("time", "value"));
+        series.setValues(List.of(List.of(2 * i, 2 * i), List.of(2 * i + 1, 2 * i + 1)));
+        QueryResult.Result statementResult = new QueryResult.Result();
+        statementResult.setSeries(List.of(series));
+        QueryResult result = new QueryResult();
+        result.setResults(List.of(statementResult));
+        return result;
+    }
+
+    // sent by the client at the end of the response
+    private static QueryResult endOfResponse() {
+        QueryResult result = new QueryResult();
+        result.setError("DONE");
+        return result;
+    }
+
+    private Thread produce(InfluxDB1ChunkedQueryIterator iterator, int chunks) {
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < chunks && !canceled; i++) {
+                iterator.onNext(cancellable, chunk(i));
+            }
+            iterator.onNext(cancellable, endOfResponse());
+            iterator.onComplete();
+        });
+        producer.start();
+        return producer;
+    }
+
+    @Test
+    public void rowsOfAllChunksAreReturnedInOrder() throws InterruptedException {
+        InfluxDB1ChunkedQueryIterator iterator = new InfluxDB1ChunkedQueryIterator(
+                InfluxDB1ChunkedQueryIteratorTest::convert);
+        Thread producer = produce(iterator, CHUNKS);
+
+        List<Object> values = new ArrayList<>();
+        iterator.forEachRemaining(row -> values.add(row.value()));
+        producer.join();
+
+        assertThat(values.size(), is(2 * CHUNKS));
+        for (int i = 0; i < values.size(); i++) {
+            assertThat(values.get(i), is(i));
+        }
+        assertThat(canceled, is(false));
+    }
+
+    @Test
+    public void closeCancelsQuery() throws InterruptedException {
+        InfluxDB1ChunkedQueryIterator iterator = new InfluxDB1ChunkedQueryIterator(
+                InfluxDB1ChunkedQueryIteratorTest::convert);
+        Thread producer = produce(iterator, CHUNKS);
+
+        assertThat(iterator.next().value(), is(0));
+        iterator.close();
+        producer.join();
+
+        assertThat(canceled, is(true));
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    @Test
+    public void failureEndsIteration() {
+        InfluxDB1ChunkedQueryIterator iterator = new InfluxDB1ChunkedQueryIterator(
+                InfluxDB1ChunkedQueryIteratorTest::convert);
+        iterator.onNext(cancellable, chunk(0));
+        iterator.onFailure(new IllegalStateException("connection reset"));
+
+        assertThat(iterator.next().value(), is(0));
+        assertThat(iterator.next().value(), is(1));
+        assertThat(iterator.hasNext(), is(false));
+    }
+}
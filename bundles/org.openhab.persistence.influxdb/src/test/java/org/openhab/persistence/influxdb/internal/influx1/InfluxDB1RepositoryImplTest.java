@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal.influx1;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openhab.core.items.MetadataRegistry;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
+import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
+import org.openhab.persistence.influxdb.internal.InfluxDBRepository.InfluxRow;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the chunked queries of the {@link InfluxDB1RepositoryImpl} against a local HTTP server, which stands in for
+ * InfluxDB 1.
+ *
+ * @author matgroe - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@NonNullByDefault
+public class InfluxDB1RepositoryImplTest {
+    private static final String ITEM_NAME = "sensor";
+
+    private @Mock @NonNullByDefault({}) MetadataRegistry metadataRegistry;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // completed with true if all chunks were sent, false if the client closed the connection before
+    private final CompletableFuture<Boolean> allChunksSent = new CompletableFuture<>();
+    private @NonNullByDefault({}) HttpServer server;
+    private @NonNullByDefault({}) InfluxDB1RepositoryImpl repository;
+    private int chunks;
+    private long chunkDelay; // in ms
+
+    @BeforeEach
+    public void before() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/ping", exchange -> {
+            exchange.getResponseHeaders().add("X-Influxdb-Version", "1.8.10");
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.createContext("/query", this::sendChunks);
+        server.start();
+
+        InfluxDBConfiguration configuration = new InfluxDBConfiguration(
+                Map.of(InfluxDBConfiguration.URL_PARAM, "http://127.0.0.1:" + server.getAddress().getPort(),
+                        InfluxDBConfiguration.PASSWORD_PARAM, "secret"));
+        repository = new InfluxDB1RepositoryImpl(configuration, new InfluxDBMetadataService(metadataRegistry));
+        assertThat(repository.connect(), is(true));
+    }
+
+    @AfterEach
+    public void after() {
+        repository.disconnect();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // every chunk is a JSON document on its own line with two rows
+    private void sendChunks(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream body = exchange.getResponseBody()) {
+            for (int i = 0; i < chunks; i++) {
+                String chunk = """
+                        {"results":[{"statement_id":0,"series":[{"name":"%s","columns":["time","value"],\
+                        "values":[["%s",%d],["%s",%d]]}],"partial":true}]}
+                        """.formatted(ITEM_NAME, Instant.ofEpochSecond(2 * i), 2 * i, Instant.ofEpochSecond(2 * i + 1),
+                        2 * i + 1);
+                body.write(chunk.getBytes(StandardCharsets.UTF_8));
+                body.flush();
+                Thread.sleep(chunkDelay);
+            }
+            allChunksSent.complete(true);
+        } catch (IOException e) {
+            allChunksSent.complete(false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Stream<InfluxRow> query() {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(ITEM_NAME);
+        filter.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        return repository.query(filter, "autogen", null);
+    }
+
+    @Test
+    public void rowsOfAllChunksAreReturned() throws Exception {
+        chunks = 5;
+
+        List<InfluxRow> rows;
+        try (Stream<InfluxRow> stream = query()) {
+            rows = stream.toList();
+        }
+
+        assertThat(rows.size(), is(2 * chunks));
+        for (int i = 0; i < rows.size(); i++) {
+            assertThat(rows.get(i).itemName(), is(ITEM_NAME));
+            assertThat(rows.get(i).time(), is(Instant.ofEpochSecond(i)));
+            assertThat(((Number) rows.get(i).value()).intValue(), is(i));
+        }
+        assertThat(allChunksSent.get(10, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void closingStreamEarlyCancelsQuery() throws Exception {
+        chunks = 100;
+        chunkDelay = 50;
+
+        try (Stream<InfluxRow> stream = query()) {
+            Iterator<InfluxRow> rows = stream.iterator();
+            assertThat(rows.next().time(), is(Instant.ofEpochSecond(0)));
+        }
+
+        // sending all chunks would take 5 s
+        assertThat(allChunksSent.get(3, TimeUnit.SECONDS), is(false));
+    }
+}
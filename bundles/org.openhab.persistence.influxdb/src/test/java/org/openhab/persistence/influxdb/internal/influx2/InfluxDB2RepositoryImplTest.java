@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal.influx2;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.openhab.core.items.MetadataRegistry;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
+import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
+import org.openhab.persistence.influxdb.internal.InfluxDBRepository.InfluxRow;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the streamed queries of the {@link InfluxDB2RepositoryImpl} against a local HTTP server, which stands in for
+ * InfluxDB 2.
+ *
+ * @author matgroe - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@NonNullByDefault
+public class InfluxDB2RepositoryImplTest {
+    private static final String ITEM_NAME = "sensor";
+
+    private @Mock @NonNullByDefault({}) MetadataRegistry metadataRegistry;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // completed with true if all rows were sent, false if the client closed the connection before
+    private final CompletableFuture<Boolean> allRowsSent = new CompletableFuture<>();
+    private @NonNullByDefault({}) HttpServer server;
+    private @NonNullByDefault({}) InfluxDB2RepositoryImpl repository;
+    private int rows;
+    private long rowDelay; // in ms
+
+    @BeforeEach
+    public void before() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/ping", exchange -> {
+            exchange.getResponseHeaders().add("X-Influxdb-Version", "2.7.11");
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.createContext("/ready", exchange -> {
+            byte[] ready = "{\"status\":\"ready\",\"started\":\"2024-01-01T00:00:00Z\",\"up\":\"1s\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, ready.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(ready);
+            }
+        });
+        server.createContext("/api/v2/query", this::sendRows);
+        server.start();
+
+        InfluxDBConfiguration configuration = new InfluxDBConfiguration(
+                Map.of(InfluxDBConfiguration.URL_PARAM, "http://127.0.0.1:" + server.getAddress().getPort(),
+                        InfluxDBConfiguration.VERSION_PARAM, "V2", InfluxDBConfiguration.TOKEN_PARAM, "token"));
+        repository = new InfluxDB2RepositoryImpl(configuration, new InfluxDBMetadataService(metadataRegistry));
+        assertThat(repository.connect(), is(true));
+    }
+
+    @AfterEach
+    public void after() {
+        repository.disconnect();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // the rows are sent as annotated CSV, one line at a time
+    private void sendRows(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().add("Content-Type", "text/csv; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write("""
+                    #datatype,string,long,dateTime:RFC3339,double,string,string
+                    #group,false,false,false,false,true,true
+                    #default,_result,,,,,
+                    ,result,table,_time,_value,_measurement,item
+                    """.getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < rows; i++) {
+                String row = ",,0,%s,%d.5,%s,%s\n".formatted(Instant.ofEpochSecond(i), i, ITEM_NAME, ITEM_NAME);
+                body.write(row.getBytes(StandardCharsets.UTF_8));
+                body.flush();
+                Thread.sleep(rowDelay);
+            }
+            body.write("\n".getBytes(StandardCharsets.UTF_8));
+            allRowsSent.complete(true);
+        } catch (IOException e) {
+            allRowsSent.complete(false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Stream<InfluxRow> query() {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(ITEM_NAME);
+        filter.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        return repository.query(filter, "autogen", null);
+    }
+
+    @Test
+    public void allRowsAreReturned() throws Exception {
+        rows = 10;
+
+        List<InfluxRow> result;
+        try (Stream<InfluxRow> stream = query()) {
+            result = stream.toList();
+        }
+
+        assertThat(result.size(), is(rows));
+        for (int i = 0; i < result.size(); i++) {
+            assertThat(result.get(i).itemName(), is(ITEM_NAME));
+            assertThat(result.get(i).time(), is(Instant.ofEpochSecond(i)));
+            assertThat(result.get(i).value(), is(i + 0.5));
+        }
+        assertThat(allRowsSent.get(10, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void closingStreamEarlyClosesResponse() throws Exception {
+        rows = 100;
+        rowDelay = 50;
+
+        try (Stream<InfluxRow> stream = query()) {
+            Iterator<InfluxRow> result = stream.iterator();
+            assertThat(result.next().time(), is(Instant.ofEpochSecond(0)));
+        }
+
+        // sending all rows would take 5 s
+        assertThat(allRowsSent.get(3, TimeUnit.SECONDS), is(false));
+    }
+}
@@ -0,0 +1,419 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.types.State;
+
+/**
+ * Time-sorted values of a single item, stored in primitive columns.
+ *
+ * The entries are kept in a ring buffer of epoch milliseconds, <code>double</code> values and state ids. Numeric
+ * states that can be represented exactly as <code>double</code> are stored in the value column, their unit and scale
+ * are stored once in a dictionary. All other states are stored in the dictionary and referenced by their id.
+ *
+ * Appending and removing the oldest entry are O(1), range lookups use binary search. State filters on numeric values
+ * compare the value column directly, so a query costs O(log n + k) for k entries in the requested time range.
+ * Timestamps are stored with millisecond precision and returned in the system time zone.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+class InMemoryTimeSeries {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    private static final int MIN_DICTIONARY_SIZE_FOR_CLEANUP = 64;
+
+    private final Lock lock = new ReentrantLock();
+
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private double[] values = new double[INITIAL_CAPACITY];
+    private int[] stateIds = new int[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+    private long maxEntries;
+
+    private final List<Object> dictionary = new ArrayList<>();
+    private final Map<Object, Integer> dictionaryIds = new HashMap<>();
+
+    /**
+     * @param maxEntries maximum number of entries, 0 for no limit
+     */
+    InMemoryTimeSeries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Stores a state. An existing entry with the same timestamp is replaced. If the series is full, the oldest entry
+     * is removed.
+     */
+    void add(ZonedDateTime timestamp, State state) {
+        long time = timestamp.toInstant().toEpochMilli();
+        lock.lock();
+        try {
+            int index = size > 0 && time > timeAt(size - 1) ? size : lowerBound(time);
+            if (index < size && timeAt(index) == time) {
+                setState(physical(index), state);
+                return;
+            }
+            if (isFull()) {
+                if (index == 0) {
+                    // older than all retained entries, it would be evicted immediately
+                    return;
+                }
+                removeFirst();
+                index--;
+                cleanupDictionary();
+            }
+            ensureCapacity(size + 1);
+            for (int i = size; i > index; i--) {
+                copy(physical(i - 1), physical(i));
+            }
+            size++;
+            int position = physical(index);
+            timestamps[position] = time;
+            setState(position, state);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the entries matching the filter, in the requested order and page.
+     *
+     * @param filter time range, state filter, ordering and page of the query
+     * @param stateFilter condition for states that cannot be compared by their numeric value
+     */
+    List<Entry> query(FilterCriteria filter, Predicate<State> stateFilter) {
+        lock.lock();
+        try {
+            int from = fromIndex(filter.getBeginDate());
+            int to = toIndex(filter.getEndDate());
+            boolean ascending = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING;
+            int limit = filter.getPageSize();
+            long skip = (long) filter.getPageNumber() * limit;
+            StateMatcher matcher = new StateMatcher(filter, stateFilter);
+
+            List<Entry> result = new ArrayList<>(Math.min(Math.max(to - from, 0), limit));
+            for (int i = 0; i < to - from && result.size() < limit; i++) {
+                int position = physical(ascending ? from + i : to - 1 - i);
+                if (!matcher.matches(position)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                result.add(new Entry(toZonedDateTime(timestamps[position]), getState(position)));
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the entries matching the filter. Ordering and page of the filter are ignored.
+     *
+     * @param filter time range and state filter of the entries to remove
+     * @param stateFilter condition for states that cannot be compared by their numeric value
+     */
+    void remove(FilterCriteria filter, Predicate<State> stateFilter) {
+        lock.lock();
+        try {
+            int from = fromIndex(filter.getBeginDate());
+            int to = toIndex(filter.getEndDate());
+            StateMatcher matcher = new StateMatcher(filter, stateFilter);
+            int target = from;
+            for (int i = from; i < size; i++) {
+                if (i >= to || !matcher.matches(physical(i))) {
+                    copy(physical(i), physical(target++));
+                }
+            }
+            size = target;
+            cleanupDictionary();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Changes the maximum number of entries and removes the oldest entries exceeding it.
+     *
+     * @param maxEntries maximum number of entries, 0 for no limit
+     */
+    void setMaxEntries(long maxEntries) {
+        lock.lock();
+        try {
+            this.maxEntries = maxEntries;
+            if (maxEntries > 0) {
+                while (size > maxEntries) {
+                    removeFirst();
+                }
+                cleanupDictionary();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of entries, the timestamps of the oldest and newest entry, or <code>null</code> if the series
+     *         is empty
+     */
+    @Nullable
+    Summary summary() {
+        lock.lock();
+        try {
+            if (size == 0) {
+                return null;
+            }
+            return new Summary(size, Instant.ofEpochMilli(timeAt(0)), Instant.ofEpochMilli(timeAt(size - 1)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isFull() {
+        return maxEntries > 0 && size >= maxEntries;
+    }
+
+    private int physical(int index) {
+        int position = head + index;
+        return position >= timestamps.length ? position - timestamps.length : position;
+    }
+
+    private long timeAt(int index) {
+        return timestamps[physical(index)];
+    }
+
+    private void copy(int from, int to) {
+        timestamps[to] = timestamps[from];
+        values[to] = values[from];
+        stateIds[to] = stateIds[from];
+    }
+
+    private void removeFirst() {
+        head = physical(1);
+        size--;
+    }
+
+    private int fromIndex(@Nullable ZonedDateTime begin) {
+        return begin == null ? 0 : lowerBound(begin.toInstant().toEpochMilli());
+    }
+
+    private int toIndex(@Nullable ZonedDateTime end) {
+        if (end == null) {
+            return size;
+        }
+        long time = end.toInstant().toEpochMilli();
+        return time == Long.MAX_VALUE ? size : lowerBound(time + 1);
+    }
+
+    /**
+     * @return the index of the first entry not older than the given time
+     */
+    private int lowerBound(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timeAt(mid) < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void ensureCapacity(int required) {
+        int capacity = timestamps.length;
+        if (required <= capacity) {
+            return;
+        }
+        long limit = maxEntries > 0 ? Math.min(maxEntries, MAX_CAPACITY) : MAX_CAPACITY;
+        int newCapacity = (int) Math.max(required, Math.min(2L * capacity, limit));
+        long[] newTimestamps = new long[newCapacity];
+        double[] newValues = new double[newCapacity];
+        int[] newStateIds = new int[newCapacity];
+        int firstPart = Math.min(size, capacity - head);
+        System.arraycopy(timestamps, head, newTimestamps, 0, firstPart);
+        System.arraycopy(values, head, newValues, 0, firstPart);
+        System.arraycopy(stateIds, head, newStateIds, 0, firstPart);
+        System.arraycopy(timestamps, 0, newTimestamps, firstPart, size - firstPart);
+        System.arraycopy(values, 0, newValues, firstPart, size - firstPart);
+        System.arraycopy(stateIds, 0, newStateIds, firstPart, size - firstPart);
+        timestamps = newTimestamps;
+        values = newValues;
+        stateIds = newStateIds;
+        head = 0;
+    }
+
+    private void setState(int position, State state) {
+        BigDecimal number = null;
+        Unit<?> unit = null;
+        if (state.getClass() == DecimalType.class) {
+            number = ((DecimalType) state).toBigDecimal();
+        } else if (state instanceof QuantityType<?> quantity && state.getClass() == QuantityType.class) {
+            number = quantity.toBigDecimal();
+            unit = quantity.getUnit();
+        }
+        if (number != null) {
+            double value = number.doubleValue();
+            if (isExact(number, value)) {
+                values[position] = value;
+                stateIds[position] = dictionaryId(new NumberFormat(unit, number.scale()));
+                return;
+            }
+        }
+        values[position] = Double.NaN;
+        stateIds[position] = dictionaryId(state);
+    }
+
+    private State getState(int position) {
+        Object entry = dictionary.get(stateIds[position]);
+        if (entry instanceof NumberFormat format) {
+            BigDecimal number = BigDecimal.valueOf(values[position]).setScale(format.scale(), RoundingMode.HALF_UP);
+            Unit<?> unit = format.unit();
+            return unit == null ? new DecimalType(number) : toQuantity(number, unit);
+        }
+        return (State) entry;
+    }
+
+    private static boolean isExact(BigDecimal number, double value) {
+        return Double.isFinite(value) && BigDecimal.valueOf(value).compareTo(number) == 0;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static State toQuantity(BigDecimal number, Unit<?> unit) {
+        return new QuantityType(number, unit);
+    }
+
+    private int dictionaryId(Object entry) {
+        Integer id = dictionaryIds.get(entry);
+        if (id == null) {
+            id = dictionary.size();
+            dictionary.add(entry);
+            dictionaryIds.put(entry, id);
+        }
+        return id;
+    }
+
+    /**
+     * Rebuilds the dictionary if most of its entries are no longer referenced, e.g. after many distinct strings have
+     * been evicted.
+     */
+    private void cleanupDictionary() {
+        if (dictionary.size() < MIN_DICTIONARY_SIZE_FOR_CLEANUP || dictionary.size() <= 2 * size) {
+            return;
+        }
+        List<Object> oldDictionary = new ArrayList<>(dictionary);
+        dictionary.clear();
+        dictionaryIds.clear();
+        for (int i = 0; i < size; i++) {
+            int position = physical(i);
+            stateIds[position] = dictionaryId(oldDictionary.get(stateIds[position]));
+        }
+    }
+
+    private static ZonedDateTime toZonedDateTime(long time) {
+        return Instant.ofEpochMilli(time).atZone(ZoneId.systemDefault());
+    }
+
+    /**
+     * Matches entries against the state filter of a query.
+     *
+     * If the reference state is a plain {@link DecimalType} or {@link QuantityType}, entries with a value of the same
+     * unit are compared by their <code>double</code> value without creating a state. All other entries are decoded and
+     * passed to the fallback condition.
+     */
+    private class StateMatcher {
+        private final FilterCriteria.@Nullable Operator operator;
+        private final Predicate<State> fallback;
+        private final @Nullable Unit<?> refUnit;
+        private final double refValue;
+        private final boolean numeric;
+
+        StateMatcher(FilterCriteria filter, Predicate<State> fallback) {
+            State refState = filter.getState();
+            this.operator = refState != null ? filter.getOperator() : null;
+            this.fallback = fallback;
+
+            BigDecimal number = null;
+            Unit<?> unit = null;
+            if (refState != null && refState.getClass() == DecimalType.class) {
+                number = ((DecimalType) refState).toBigDecimal();
+            } else if (refState instanceof QuantityType<?> quantity && refState.getClass() == QuantityType.class) {
+                number = quantity.toBigDecimal();
+                unit = quantity.getUnit();
+            }
+            this.refUnit = unit;
+            this.refValue = number != null ? number.doubleValue() : Double.NaN;
+            this.numeric = number != null && isExact(number, refValue);
+        }
+
+        boolean matches(int position) {
+            FilterCriteria.Operator operator = this.operator;
+            if (operator == null) {
+                return true;
+            }
+            if (numeric && dictionary.get(stateIds[position]) instanceof NumberFormat format
+                    && Objects.equals(format.unit(), refUnit)) {
+                double value = values[position];
+                return switch (operator) {
+                    case EQ -> value == refValue;
+                    case NEQ -> value != refValue;
+                    case GT -> value > refValue;
+                    case GTE -> value >= refValue;
+                    case LT -> value < refValue;
+                    case LTE -> value <= refValue;
+                    default -> fallback.test(getState(position));
+                };
+            }
+            return fallback.test(getState(position));
+        }
+    }
+
+    /**
+     * Unit and scale of numeric states stored in the value column.
+     */
+    private record NumberFormat(@Nullable Unit<?> unit, int scale) {
+    }
+
+    record Entry(ZonedDateTime timestamp, State state) {
+    }
+
+    record Summary(int count, Instant earliest, Instant latest) {
+    }
+}
@@ -16,11 +16,16 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
 import java.util.TreeSet;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -35,6 +40,7 @@ import org.openhab.core.items.GenericItem;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
@@ -275,4 +281,160 @@ public class InMemoryPersistenceTests {
 
         // begin date is before first date is already covered by case #1
     }
+
+    @Test
+    public void oldestEntriesAreRemovedWhenMaxEntriesIsReached() {
+        service.activate(Map.of("maxEntries", 3L));
+
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 5; i++) {
+            service.store(item, start.plusHours(i), new DecimalType(i));
+        }
+        // older than all retained entries
+        service.store(item, start, new DecimalType(0));
+
+        List<Integer> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+        assertThat(resultSet, contains(2, 3, 4));
+
+        service.modified(Map.of("maxEntries", 1L));
+        resultSet.clear();
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+        assertThat(resultSet, contains(4));
+    }
+
+    @Test
+    public void storeOutOfOrderAndReplace() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, start.plusHours(2), new StringType("value3"));
+        service.store(item, start, new StringType("value1"));
+        service.store(item, start.plusHours(1), new StringType("value2"));
+        service.store(item, start.plusHours(2), new StringType("updated"));
+
+        List<State> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(h.getState()));
+        assertThat(resultSet, contains(new StringType("value1"), new StringType("value2"), new StringType("updated")));
+    }
+
+    @Test
+    public void numericStatesKeepTypeUnitAndPrecision() {
+        List<State> states = List.of(new DecimalType("1.50"), new QuantityType<>("21.5 °C"), new PercentType(30),
+                new DecimalType("0.1000000000000000000001"), new QuantityType<>("-3 kWh"));
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < states.size(); i++) {
+            service.store(item, start.plusMinutes(i), states.get(i));
+        }
+
+        List<State> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(h.getState()));
+        assertThat(resultSet, is(states));
+        assertThat(resultSet.get(0).toString(), is("1.50"));
+        assertThat(resultSet.get(2), is(instanceOf(PercentType.class)));
+    }
+
+    @Test
+    public void querySupportsNumericStateFilter() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 6; i++) {
+            service.store(item, start.plusHours(i), new DecimalType(i));
+        }
+        service.store(item, start.plusHours(6), new StringType("text"));
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        filterCriteria.setState(new DecimalType("2.0"));
+        filterCriteria.setOperator(FilterCriteria.Operator.GT);
+
+        List<String> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(h.getState().toString()));
+        // states of other types are not comparable and not filtered
+        assertThat(resultSet, contains("3", "4", "5", "text"));
+
+        filterCriteria.setOperator(FilterCriteria.Operator.EQ);
+        resultSet.clear();
+        service.query(filterCriteria).forEach(h -> resultSet.add(h.getState().toString()));
+        assertThat(resultSet, contains("2"));
+    }
+
+    @Test
+    public void querySupportsPaging() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 10; i++) {
+            service.store(item, start.plusHours(i), new DecimalType(i));
+        }
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.DESCENDING);
+        filterCriteria.setPageSize(3);
+        filterCriteria.setPageNumber(1);
+
+        List<Integer> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+        assertThat(resultSet, contains(6, 5, 4));
+
+        filterCriteria.setPageNumber(3);
+        resultSet.clear();
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+        assertThat(resultSet, contains(0));
+    }
+
+    @Test
+    public void randomOperationsHaveSameResultAsTreeMap() {
+        long maxEntries = 50;
+        service.activate(Map.of("maxEntries", maxEntries));
+        List<State> states = List.of(new DecimalType(1), new DecimalType("1.50"), new QuantityType<>("21.5 °C"),
+                new PercentType(30), new StringType("text"), new HSBType("120,100,100"));
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+
+        // reference implementation, keyed by the offset in minutes from start
+        NavigableMap<Integer, State> reference = new TreeMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(20);
+            if (operation == 0) {
+                // remove a range
+                int begin = random.nextInt(200);
+                int end = begin + random.nextInt(20);
+                filterCriteria.setBeginDate(start.plusMinutes(begin));
+                filterCriteria.setEndDate(start.plusMinutes(end));
+                service.remove(filterCriteria);
+                reference.subMap(begin, true, end, true).clear();
+            } else {
+                // mostly ascending timestamps, with out-of-order inserts and replaced timestamps
+                int minute = random.nextInt(4) == 0 ? random.nextInt(200) : i / 25 + random.nextInt(3);
+                State state = states.get(random.nextInt(states.size()));
+                service.store(item, start.plusMinutes(minute), state);
+                if (reference.containsKey(minute) || reference.size() < maxEntries) {
+                    reference.put(minute, state);
+                } else if (minute > reference.firstKey()) {
+                    reference.pollFirstEntry();
+                    reference.put(minute, state);
+                }
+            }
+
+            if (i % 50 == 0) {
+                int begin = random.nextInt(200);
+                int end = begin + random.nextInt(100);
+                boolean ascending = random.nextBoolean();
+                filterCriteria.setBeginDate(start.plusMinutes(begin));
+                filterCriteria.setEndDate(start.plusMinutes(end));
+                filterCriteria.setOrdering(
+                        ascending ? FilterCriteria.Ordering.ASCENDING : FilterCriteria.Ordering.DESCENDING);
+                NavigableMap<Integer, State> expected = reference.subMap(begin, true, end, true);
+                assertThat(query(start),
+                        is(new ArrayList<>((ascending ? expected : expected.descendingMap()).entrySet())));
+            }
+        }
+
+        filterCriteria = new FilterCriteria();
+        filterCriteria.setItemName(ITEM_NAME);
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        assertThat(query(start), is(new ArrayList<>(reference.entrySet())));
+    }
+
+    // returns the states with their offset in minutes from start, in the order of the query
+    private List<Map.Entry<Integer, State>> query(ZonedDateTime start) {
+        List<Map.Entry<Integer, State>> result = new ArrayList<>();
+        service.query(filterCriteria).forEach(
+                h -> result.add(Map.entry((int) Duration.between(start, h.getTimestamp()).toMinutes(), h.getState())));
+        return result;
+    }
 }
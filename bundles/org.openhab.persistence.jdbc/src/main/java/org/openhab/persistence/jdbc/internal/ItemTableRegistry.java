@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Copy-on-write registry of item names and their table names.
+ *
+ * Lookups read an immutable snapshot and never lock. Changes publish a new snapshot. Table creation and bulk reloads
+ * are serialized with each other, so a table created while the registry is reloaded is never lost and a table is
+ * never created twice for the same item.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class ItemTableRegistry {
+
+    /**
+     * Creates the table for an item.
+     */
+    @FunctionalInterface
+    public interface TableCreator<E extends Exception> {
+        String createTable(String itemName) throws E;
+    }
+
+    /**
+     * Loads all item names and table names.
+     */
+    @FunctionalInterface
+    public interface TableLoader<E extends Exception> {
+        Map<String, String> loadTables() throws E;
+    }
+
+    private final AtomicReference<Map<String, String>> itemNameToTableName = new AtomicReference<>(Map.of());
+    private final Object modificationLock = new Object();
+
+    /**
+     * Get the table name for an item.
+     *
+     * @param itemName name or alias of the item
+     * @return the table name or null if no table is registered for the item
+     */
+    public @Nullable String get(String itemName) {
+        return itemNameToTableName.get().get(itemName);
+    }
+
+    /**
+     * Get the table name for an item, creating the table if none is registered yet.
+     *
+     * @param itemName name or alias of the item
+     * @param creator creates the table if needed, called at most once per item
+     * @return the table name
+     */
+    public <E extends Exception> String getOrCreate(String itemName, TableCreator<E> creator) throws E {
+        String tableName = get(itemName);
+        if (tableName != null) {
+            return tableName;
+        }
+        synchronized (modificationLock) {
+            tableName = get(itemName);
+            if (tableName == null) {
+                tableName = creator.createTable(itemName);
+                put(itemName, tableName);
+            }
+            return tableName;
+        }
+    }
+
+    /**
+     * Replace all entries with the ones provided by the loader. Lookups see either the old or the new entries.
+     *
+     * @param loader provides the new entries
+     */
+    public <E extends Exception> void reload(TableLoader<E> loader) throws E {
+        synchronized (modificationLock) {
+            itemNameToTableName.set(Map.copyOf(loader.loadTables()));
+        }
+    }
+
+    public void put(String itemName, String tableName) {
+        Map<String, String> current;
+        Map<String, String> updated;
+        do {
+            current = itemNameToTableName.get();
+            Map<String, String> copy = new HashMap<>(current);
+            copy.put(itemName, tableName);
+            updated = Map.copyOf(copy);
+        } while (!itemNameToTableName.compareAndSet(current, updated));
+    }
+
+    public void remove(String itemName) {
+        Map<String, String> current;
+        Map<String, String> updated;
+        do {
+            current = itemNameToTableName.get();
+            if (!current.containsKey(itemName)) {
+                return;
+            }
+            Map<String, String> copy = new HashMap<>(current);
+            copy.remove(itemName);
+            updated = Map.copyOf(copy);
+        } while (!itemNameToTableName.compareAndSet(current, updated));
+    }
+
+    /**
+     * @return immutable snapshot of all item names and their table names
+     */
+    public Map<String, String> asMap() {
+        return itemNameToTableName.get();
+    }
+
+    /**
+     * @return immutable snapshot of all item names
+     */
+    public Set<String> getItemNames() {
+        return itemNameToTableName.get().keySet();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write-behind buffer for item values. Values are collected in a bounded queue and handed over to the flush handler
+ * in chunks of at most {@code batchSize} values, either when the configured number of values is pending or when the
+ * flush interval has elapsed.
+ *
+ * When the queue is full, the storing thread flushes the queue itself before its value is accepted.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcBatchWriter {
+    private final Logger logger = LoggerFactory.getLogger(JdbcBatchWriter.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final BlockingQueue<PendingItemValue> queue;
+    private final int batchSize;
+    private final int batchInterval;
+    private final Consumer<List<PendingItemValue>> flushHandler;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    /**
+     * @param scheduler executor used for periodic and size-triggered flushes
+     * @param batchSize maximum number of values handed over to the flush handler at once
+     * @param batchInterval maximum time in milliseconds a value is kept in the queue
+     * @param queueSize capacity of the queue
+     * @param flushHandler handler storing a chunk of values
+     */
+    public JdbcBatchWriter(ScheduledExecutorService scheduler, int batchSize, int batchInterval, int queueSize,
+            Consumer<List<PendingItemValue>> flushHandler) {
+        this.scheduler = scheduler;
+        this.batchSize = batchSize;
+        this.batchInterval = batchInterval;
+        this.queue = new ArrayBlockingQueue<>(Math.max(queueSize, batchSize));
+        this.flushHandler = flushHandler;
+    }
+
+    public void start() {
+        flushJob = scheduler.scheduleWithFixedDelay(this::flush, batchInterval, batchInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic flush and stores all values still pending.
+     */
+    public void stop() {
+        ScheduledFuture<?> flushJob = this.flushJob;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            this.flushJob = null;
+        }
+        flush();
+    }
+
+    /**
+     * Adds a value to the queue.
+     *
+     * @param value the value to store
+     * @return true if the value was accepted, false if it had to be dropped
+     */
+    public boolean add(PendingItemValue value) {
+        if (!queue.offer(value)) {
+            logger.debug("JDBC::add: write-behind queue is full, flushing on calling thread");
+            flush();
+            if (!queue.offer(value)) {
+                logger.warn("JDBC::add: write-behind queue is full, dropping state '{}' of item '{}'", value.state(),
+                        value.item().getName());
+                return false;
+            }
+        }
+        if (queue.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of values waiting to be stored
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Hands all pending values over to the flush handler.
+     */
+    public synchronized void flush() {
+        flushScheduled.set(false);
+        List<PendingItemValue> values = new ArrayList<>(batchSize);
+        while (queue.drainTo(values, batchSize) > 0) {
+            try {
+                flushHandler.accept(values);
+            } catch (RuntimeException e) {
+                logger.warn("JDBC::flush: Unable to store {} values", values.size(), e);
+            }
+            values = new ArrayList<>(batchSize);
+        }
+    }
+}
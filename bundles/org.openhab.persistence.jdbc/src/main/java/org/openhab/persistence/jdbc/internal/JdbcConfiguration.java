@@ -25,6 +25,7 @@ import java.util.regex.Pattern;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.utils.MovingAverage;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
 import org.slf4j.Logger;
@@ -66,6 +67,15 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    // write-behind, disabled if batchSize is 0
+    private int batchSize = 0;
+    private int batchInterval = 1000;
+    private int batchQueueSize = 10000;
+
+    // server-side aggregation of historic queries, disabled if aggregationBuckets is 0
+    private int aggregationBuckets = 0;
+    private AggregationFunction aggregationFunction = AggregationFunction.AVG;
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -191,6 +201,41 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String bs = (String) configuration.get("batchSize");
+        if (bs != null && !bs.isBlank() && isNumericPattern.matcher(bs).matches()) {
+            batchSize = Integer.parseInt(bs);
+            logger.debug("JDBC::updateConfig: batchSize={}", batchSize);
+        }
+
+        String bi = (String) configuration.get("batchInterval");
+        if (bi != null && !bi.isBlank() && isNumericPattern.matcher(bi).matches()) {
+            batchInterval = Math.max(Integer.parseInt(bi), 1);
+            logger.debug("JDBC::updateConfig: batchInterval={}", batchInterval);
+        }
+
+        String bq = (String) configuration.get("batchQueueSize");
+        if (bq != null && !bq.isBlank() && isNumericPattern.matcher(bq).matches()) {
+            batchQueueSize = Integer.parseInt(bq);
+            logger.debug("JDBC::updateConfig: batchQueueSize={}", batchQueueSize);
+        }
+
+        String ab = (String) configuration.get("aggregationBuckets");
+        if (ab != null && !ab.isBlank() && isNumericPattern.matcher(ab).matches()) {
+            aggregationBuckets = Integer.parseInt(ab);
+            logger.debug("JDBC::updateConfig: aggregationBuckets={}", aggregationBuckets);
+        }
+
+        String af = (String) configuration.get("aggregationFunction");
+        if (af != null && !af.isBlank()) {
+            try {
+                aggregationFunction = AggregationFunction.valueOf(af.trim().toUpperCase());
+                logger.debug("JDBC::updateConfig: aggregationFunction={}", aggregationFunction);
+            } catch (IllegalArgumentException e) {
+                logger.warn("JDBC::updateConfig: Unknown aggregationFunction '{}', using {}", af,
+                        aggregationFunction);
+            }
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -404,6 +449,44 @@ public class JdbcConfiguration {
         return tableIdDigitCount;
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getBatchInterval() {
+        return batchInterval;
+    }
+
+    public int getBatchQueueSize() {
+        return batchQueueSize;
+    }
+
+    /**
+     * Checks if values are written behind in batches.
+     *
+     * @return true if batchSize is greater than 0.
+     */
+    public boolean isBatchWriteEnabled() {
+        return batchSize > 0;
+    }
+
+    public int getAggregationBuckets() {
+        return aggregationBuckets;
+    }
+
+    public AggregationFunction getAggregationFunction() {
+        return aggregationFunction;
+    }
+
+    /**
+     * Checks if historic queries are aggregated by the database.
+     *
+     * @return true if aggregationBuckets is greater than 0.
+     */
+    public boolean isAggregationEnabled() {
+        return aggregationBuckets > 0;
+    }
+
     public JdbcBaseDAO getDBDAO() {
         return dBDAO;
     }
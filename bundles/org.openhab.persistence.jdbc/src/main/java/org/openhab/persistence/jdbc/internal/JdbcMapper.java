@@ -13,12 +13,12 @@
 package org.openhab.persistence.jdbc.internal;
 
 import java.sql.SQLInvalidAuthorizationSpecException;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -32,10 +32,12 @@ import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcPersistenceItemInfo;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.slf4j.Logger;
@@ -59,7 +61,7 @@ public class JdbcMapper {
     protected int errCnt;
     protected boolean initialized = false;
     protected @NonNullByDefault({}) JdbcConfiguration conf;
-    protected final Map<String, String> itemNameToTableNameMap = new HashMap<>();
+    protected final ItemTableRegistry itemTableRegistry = new ItemTableRegistry();
     protected @NonNullByDefault({}) NamingStrategy namingStrategy;
     private long afterAccessMin = 10000;
     private long afterAccessMax = 0;
@@ -226,6 +228,14 @@ public class JdbcMapper {
         errCnt = 0;
     }
 
+    protected void storeItemValues(String tableName, List<PendingItemValue> values) throws JdbcException {
+        logger.debug("JDBC::storeItemValues: table={} count={}", tableName, values.size());
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doStoreItemValues(tableName, values);
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+    }
+
     public long getRowCount(String tableName) throws JdbcSQLException {
         return conf.getDBDAO().doGetRowCount(tableName);
     }
@@ -243,6 +253,18 @@ public class JdbcMapper {
         return result;
     }
 
+    protected List<HistoricItem> getAggregatedHistItemFilterQuery(FilterCriteria filter, String table, Item item,
+            Duration interval, AggregationFunction function) throws JdbcSQLException {
+        logger.debug("JDBC::getAggregatedHistItemFilterQuery table='{}' itemName='{}' interval='{}' function='{}'",
+                table, item.getName(), interval, function);
+        long timerStart = System.currentTimeMillis();
+        List<HistoricItem> result = conf.getDBDAO().doGetAggregatedHistItemFilterQuery(item, filter, table,
+                timeZoneProvider.getTimeZone(), interval, function);
+        logTime("getAggregatedHistItemFilterQuery", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+        return result;
+    }
+
     protected void deleteItemValues(FilterCriteria filter, String table) throws JdbcSQLException {
         logger.debug("JDBC::deleteItemValues filter='{}' table='{}' itemName='{}'", true, table, filter.getItemName());
         long timerStart = System.currentTimeMillis();
@@ -336,22 +358,26 @@ public class JdbcMapper {
     }
 
     public void populateItemNameToTableNameMap() throws JdbcSQLException {
-        itemNameToTableNameMap.clear();
-        if (conf.getTableUseRealCaseSensitiveItemNames()) {
-            for (String itemName : getItemTables().stream().map(t -> t.getTableName()).collect(Collectors.toList())) {
-                itemNameToTableNameMap.put(itemName, itemName);
-            }
-        } else {
-            for (ItemsVO vo : getItemIDTableNames()) {
-                String itemName = vo.getItemName();
-                if (!ItemUtil.isValidItemName(itemName)) {
-                    logger.warn("Skipping invalid item name {}", itemName);
-                    continue;
+        itemTableRegistry.reload(() -> {
+            Map<String, String> itemNameToTableNameMap = new HashMap<>();
+            if (conf.getTableUseRealCaseSensitiveItemNames()) {
+                for (String itemName : getItemTables().stream().map(t -> t.getTableName())
+                        .collect(Collectors.toList())) {
+                    itemNameToTableNameMap.put(itemName, itemName);
+                }
+            } else {
+                for (ItemsVO vo : getItemIDTableNames()) {
+                    String itemName = vo.getItemName();
+                    if (!ItemUtil.isValidItemName(itemName)) {
+                        logger.warn("Skipping invalid item name {}", itemName);
+                        continue;
+                    }
+                    itemNameToTableNameMap.put(vo.getItemName(),
+                            namingStrategy.getTableName(vo.getItemId(), vo.getItemName()));
                 }
-                itemNameToTableNameMap.put(vo.getItemName(),
-                        namingStrategy.getTableName(vo.getItemId(), vo.getItemName()));
             }
-        }
+            return itemNameToTableNameMap;
+        });
     }
 
     protected String getTable(Item item, @Nullable String alias) throws JdbcException {
@@ -360,13 +386,12 @@ public class JdbcMapper {
             throw new JdbcException("Not initialized, unable to find table for item " + itemName);
         }
 
-        // Table already exists - return the name
-        String tableName = itemNameToTableNameMap.get(itemName);
-        if (!Objects.isNull(tableName)) {
-            return tableName;
-        }
+        // Table already exists - return the name, otherwise create it
+        return itemTableRegistry.getOrCreate(itemName, name -> createTable(item, name));
+    }
 
-        logger.debug("JDBC::getTable: no table found for item '{}' in itemNameToTableNameMap", itemName);
+    private String createTable(Item item, String itemName) throws JdbcException {
+        logger.debug("JDBC::getTable: no table found for item '{}' in itemTableRegistry", itemName);
 
         int itemId = 0;
 
@@ -384,7 +409,7 @@ public class JdbcMapper {
 
         // Create the table name
         logger.debug("JDBC::getTable: getTableName with rowId={} itemName={}", itemId, itemName);
-        tableName = namingStrategy.getTableName(itemId, itemName);
+        String tableName = namingStrategy.getTableName(itemId, itemName);
 
         // Create table for item
         String dataType = conf.getDBDAO().getDataType(item);
@@ -394,8 +419,6 @@ public class JdbcMapper {
         logger.debug("JDBC::getTable: Table created for item '{}' with dataType {} in SQL database.", itemName,
                 dataType);
 
-        itemNameToTableNameMap.put(itemName, tableName);
-
         return tableName;
     }
 
@@ -476,7 +499,7 @@ public class JdbcMapper {
     protected Set<PersistenceItemInfo> getItems() {
         // TODO: in general it would be possible to query the count, earliest and latest values for each item too but it
         // would be a very costly operation
-        return itemNameToTableNameMap.keySet().stream().map(itemName -> new JdbcPersistenceItemInfo(itemName))
+        return itemTableRegistry.getItemNames().stream().map(itemName -> new JdbcPersistenceItemInfo(itemName))
                 .collect(Collectors.<PersistenceItemInfo> toSet());
     }
 
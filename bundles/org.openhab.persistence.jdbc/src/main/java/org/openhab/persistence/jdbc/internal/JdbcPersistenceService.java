@@ -12,10 +12,12 @@
  */
 package org.openhab.persistence.jdbc.internal;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -34,6 +36,7 @@ import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.ModifiablePersistenceService;
@@ -46,6 +49,7 @@ import org.openhab.core.types.UnDefType;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.osgi.framework.BundleContext;
@@ -70,6 +74,10 @@ import org.slf4j.LoggerFactory;
 @ConfigurableService(category = "persistence", label = "JDBC Persistence Service", description_uri = JdbcPersistenceServiceConstants.CONFIG_URI)
 public class JdbcPersistenceService extends JdbcMapper implements ModifiablePersistenceService {
 
+    private static final Duration MIN_AGGREGATION_INTERVAL = Duration.ofMinutes(1);
+    // rules query through the persistence extensions, which need the stored values, e.g. for countBetween or sumSince
+    private static final String PERSISTENCE_EXTENSIONS_PACKAGE = "org.openhab.core.persistence.extensions.";
+
     private final Logger logger = LoggerFactory.getLogger(JdbcPersistenceService.class);
 
     private final ItemRegistry itemRegistry;
@@ -77,6 +85,8 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
 
+    private @Nullable JdbcBatchWriter batchWriter;
+
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
@@ -120,6 +130,12 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
+        JdbcBatchWriter batchWriter = this.batchWriter;
+        if (batchWriter != null) {
+            logger.debug("JDBC::deactivate: storing {} pending values", batchWriter.size());
+            batchWriter.stop();
+            this.batchWriter = null;
+        }
         // closeConnection();
         initialized = false;
     }
@@ -137,22 +153,36 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public void store(Item item) {
-        scheduler.execute(() -> internalStore(item, null, item.getState(), null));
+        scheduleStore(item, null, item.getState(), null);
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
-        scheduler.execute(() -> internalStore(item, null, item.getState(), alias));
+        scheduleStore(item, null, item.getState(), alias);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        scheduler.execute(() -> internalStore(item, date, state, null));
+        scheduleStore(item, date, state, null);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
-        scheduler.execute(() -> internalStore(item, date, state, alias));
+        scheduleStore(item, date, state, alias);
+    }
+
+    private void scheduleStore(Item item, @Nullable ZonedDateTime date, State state, @Nullable String alias) {
+        JdbcBatchWriter batchWriter = this.batchWriter;
+        if (batchWriter == null) {
+            scheduler.execute(() -> internalStore(item, date, state, alias));
+            return;
+        }
+        // Do not store undefined/uninitialized data
+        if (state instanceof UnDefType) {
+            logger.debug("JDBC::store: ignore Item '{}' because it is UnDefType", item.getName());
+            return;
+        }
+        batchWriter.add(new PendingItemValue(item, state, date != null ? date : ZonedDateTime.now(), alias));
     }
 
     private synchronized void internalStore(Item item, @Nullable ZonedDateTime date, State state,
@@ -180,6 +210,40 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    private synchronized void internalStore(List<PendingItemValue> values) {
+        if (!checkDBAccessability()) {
+            logger.warn(
+                    "JDBC::store: No connection to database. Cannot persist {} pending values! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
+                    values.size(), errCnt, conf.getErrReconnectThreshold());
+            return;
+        }
+        // Coalesce the values per table, the last value wins if several values have the same time
+        Map<String, Map<Long, PendingItemValue>> valuesByTable = new LinkedHashMap<>();
+        for (PendingItemValue value : values) {
+            try {
+                String tableName = getTable(value.item(), value.alias());
+                valuesByTable.computeIfAbsent(tableName, t -> new LinkedHashMap<>())
+                        .put(value.date().toInstant().toEpochMilli(), value);
+            } catch (JdbcException e) {
+                logger.warn("JDBC::store: Unable to store item", e);
+            }
+        }
+        for (Entry<String, Map<Long, PendingItemValue>> entry : valuesByTable.entrySet()) {
+            try {
+                long timerStart = System.currentTimeMillis();
+                storeItemValues(entry.getKey(), new ArrayList<>(entry.getValue().values()));
+                if (logger.isDebugEnabled()) {
+                    logger.debug("JDBC: Stored {} values in table '{}' in SQL database at {} in {} ms.",
+                            entry.getValue().size(), entry.getKey(), new Date(),
+                            System.currentTimeMillis() - timerStart);
+                }
+            } catch (JdbcException e) {
+                logger.warn("JDBC::store: Unable to store {} values in table '{}'", entry.getValue().size(),
+                        entry.getKey(), e);
+            }
+        }
+    }
+
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
         return getItems();
@@ -243,7 +307,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
 
         String localAlias = alias != null ? alias : itemName;
-        String table = itemNameToTableNameMap.get(localAlias);
+        String table = itemTableRegistry.get(localAlias);
         if (table == null) {
             logger.debug("JDBC::query: unable to find table for item with name or alias: '{}', no data in database.",
                     localAlias);
@@ -252,7 +316,11 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
         try {
             long timerStart = System.currentTimeMillis();
-            List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
+            Duration aggregationInterval = getAggregationInterval(filter, item);
+            List<HistoricItem> items = aggregationInterval == null
+                    ? getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item)
+                    : getAggregatedHistItemFilterQuery(filter, table, item, aggregationInterval,
+                            conf.getAggregationFunction());
             if (logger.isDebugEnabled()) {
                 logger.debug("JDBC: Query for item '{}' returned {} rows in {} ms", itemName, items.size(),
                         System.currentTimeMillis() - timerStart);
@@ -266,6 +334,35 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    /**
+     * Determines the bucket interval if the query should be downsampled by the database.
+     *
+     * Only unpaged queries of number items with a begin and end date are aggregated, and only if each of the configured
+     * number of buckets covers at least {@link #MIN_AGGREGATION_INTERVAL}. Queries of the persistence extensions used
+     * by rules are never aggregated, as they count, sum or return the stored values.
+     *
+     * @return the bucket interval or null if all values should be returned
+     */
+    private @Nullable Duration getAggregationInterval(FilterCriteria filter, Item item) {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        ZonedDateTime endDate = filter.getEndDate();
+        if (!conf.isAggregationEnabled() || !(item instanceof NumberItem) || beginDate == null || endDate == null
+                || filter.getPageSize() != Integer.MAX_VALUE) {
+            return null;
+        }
+        Duration interval = Duration.between(beginDate, endDate).dividedBy(conf.getAggregationBuckets());
+        return interval.compareTo(MIN_AGGREGATION_INTERVAL) < 0 || isQueriedByPersistenceExtensions() ? null : interval;
+    }
+
+    /**
+     * Checks whether the current query is made by the persistence extensions. They query in the calling thread, so
+     * they are found on its stack.
+     */
+    static boolean isQueriedByPersistenceExtensions() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .anyMatch(frame -> frame.getClassName().startsWith(PERSISTENCE_EXTENSIONS_PACKAGE)));
+    }
+
     private void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
 
@@ -284,6 +381,15 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             initialized = false;
         }
 
+        if (conf.isBatchWriteEnabled()) {
+            logger.debug("JDBC::updateConfig: write-behind enabled, batchSize={} batchInterval={} batchQueueSize={}",
+                    conf.getBatchSize(), conf.getBatchInterval(), conf.getBatchQueueSize());
+            JdbcBatchWriter batchWriter = new JdbcBatchWriter(scheduler, conf.getBatchSize(), conf.getBatchInterval(),
+                    conf.getBatchQueueSize(), this::internalStore);
+            batchWriter.start();
+            this.batchWriter = batchWriter;
+        }
+
         logger.debug("JDBC::updateConfig: configuration complete for service={}.", getId());
     }
 
@@ -307,7 +413,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             throw new IllegalArgumentException("Item name must not be null");
         }
 
-        String table = itemNameToTableNameMap.get(itemName);
+        String table = itemTableRegistry.get(itemName);
         if (table == null) {
             logger.debug("JDBC::remove: unable to find table for item with name: '{}', no data in database.", itemName);
             return false;
@@ -331,14 +437,14 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
      * Get a list of names of persisted items.
      */
     public Collection<String> getItemNames() {
-        return itemNameToTableNameMap.keySet();
+        return itemTableRegistry.getItemNames();
     }
 
     /**
-     * Get a map of item names to table names.
+     * Get an immutable snapshot of item names to table names.
      */
     public Map<String, String> getItemNameToTableNameMap() {
-        return itemNameToTableNameMap;
+        return itemTableRegistry.asMap();
     }
 
     /**
@@ -469,7 +575,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
 
         var orphanTables = getItemTables().stream().map(ItemsVO::getTableName).collect(Collectors.toSet());
-        for (Entry<String, String> entry : itemNameToTableNameMap.entrySet()) {
+        for (Entry<String, String> entry : itemTableRegistry.asMap().entrySet()) {
             String itemName = entry.getKey();
             String tableName = entry.getValue();
             entries.add(getCheckedEntry(itemName, tableName, orphanTables.contains(tableName)));
@@ -520,7 +626,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             return false;
         }
 
-        String tableName = itemNameToTableNameMap.get(itemName);
+        String tableName = itemTableRegistry.get(itemName);
         if (tableName == null) {
             return false;
         }
@@ -563,7 +669,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
                     itemsVo.setItemsManageTable(conf.getItemsManageTable());
                     deleteItemsEntry(itemsVo);
                 }
-                itemNameToTableNameMap.remove(entry.getItemName());
+                itemTableRegistry.remove(entry.getItemName());
                 return true;
             case ORPHAN_TABLE:
             case VALID:
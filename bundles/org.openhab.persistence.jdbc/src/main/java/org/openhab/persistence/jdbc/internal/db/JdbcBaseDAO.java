@@ -13,17 +13,20 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import javax.measure.Quantity;
@@ -56,10 +59,12 @@ import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
@@ -82,6 +87,9 @@ public class JdbcBaseDAO {
     // Get Database Meta data
     protected @Nullable DbMetaData dbMeta;
 
+    // Resolved SQL statements per template and placeholder values, e.g. the insert statement per table
+    private final Map<SqlTemplateKey, String> sqlCache = new ConcurrentHashMap<>();
+
     protected String sqlPingDB = "SELECT 1";
     protected String sqlGetDB = "SELECT DATABASE()";
     protected String sqlIfTableExists = "SHOW TABLES LIKE '#searchTable#'";
@@ -95,8 +103,9 @@ public class JdbcBaseDAO {
     protected String sqlGetTableColumnTypes = "SELECT column_name, column_type, is_nullable FROM information_schema.columns WHERE table_schema='#jdbcUriDatabaseName#' AND table_name='#tableName#'";
     protected String sqlCreateItemTable = "CREATE TABLE IF NOT EXISTS #tableName# (time #tablePrimaryKey# NOT NULL, value #dbType#, PRIMARY KEY(time))";
     protected String sqlAlterTableColumn = "ALTER TABLE #tableName# MODIFY COLUMN #columnName# #columnType#";
-    protected String sqlInsertItemValue = "INSERT INTO #tableName# (time, value) VALUES( #tablePrimaryValue#, ? ) ON DUPLICATE KEY UPDATE VALUE= ?";
+    protected String sqlInsertItemValue = "INSERT INTO #tableName# (time, value) VALUES( #tablePrimaryValue#, ? ) ON DUPLICATE KEY UPDATE VALUE=VALUES(VALUE)";
     protected String sqlGetRowCount = "SELECT COUNT(*) FROM #tableName#";
+    protected String sqlTimeBucket = "FLOOR(UNIX_TIMESTAMP(time) / #interval#)";
 
     /********
      * INIT *
@@ -432,10 +441,10 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+        String sql = cachedSql(sqlInsertItemValue,
                 new String[] { "#tableName#", "#tablePrimaryValue#" },
                 new String[] { formattedIdentifier(storedVO.getTableName()), sqlTypes.get("tablePrimaryValue") });
-        Object[] params = { storedVO.getValue(), storedVO.getValue() };
+        Object[] params = { storedVO.getValue() };
         logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
         try {
             Yank.execute(sql, params);
@@ -446,12 +455,9 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { formattedIdentifier(storedVO.getTableName()), "?" });
-        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue(), storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
+        String sql = insertItemValueQueryProvider(storedVO);
+        Object[] params = insertItemValueParamsProvider(storedVO, date);
+        logger.debug("JDBC::doStoreItemValue sql={} params={}", sql, Arrays.toString(params));
         try {
             Yank.execute(sql, params);
         } catch (YankSQLException e) {
@@ -459,6 +465,35 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Stores several values of the same item table as one JDBC batch.
+     *
+     * @param tableName table all values belong to
+     * @param values pending values, in the order they should be written
+     * @throws JdbcSQLException on SQL errors
+     */
+    public void doStoreItemValues(String tableName, List<PendingItemValue> values) throws JdbcSQLException {
+        if (values.isEmpty()) {
+            return;
+        }
+        String sql = "";
+        Object[][] params = new Object[values.size()][];
+        for (int i = 0; i < values.size(); i++) {
+            PendingItemValue value = values.get(i);
+            ItemVO storedVO = storeItemValueProvider(value.item(), value.state(), new ItemVO(tableName, null));
+            if (i == 0) {
+                sql = insertItemValueQueryProvider(storedVO);
+            }
+            params[i] = insertItemValueParamsProvider(storedVO, value.date());
+        }
+        logger.debug("JDBC::doStoreItemValues sql={} rows={}", sql, params.length);
+        try {
+            Yank.executeBatch(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
@@ -473,10 +508,38 @@ public class JdbcBaseDAO {
             logger.debug("JDBC::doGetHistItemFilterQuery Query failed. Returning an empty list.");
             return List.of();
         }
+        return toHistoricItems(item, m);
+    }
+
+    /**
+     * Queries historic values downsampled by the database: the values within the filter range are grouped into buckets
+     * of the given interval and each bucket is reduced to one value by the aggregation function.
+     * Paging of the filter is not applied.
+     */
+    public List<HistoricItem> doGetAggregatedHistItemFilterQuery(Item item, FilterCriteria filter, String table,
+            ZoneId timeZone, Duration interval, AggregationFunction function) throws JdbcSQLException {
+        String sql = histItemAggregateQueryProvider(filter, table, timeZone, Math.max(interval.toSeconds(), 1),
+                function);
+        logger.debug("JDBC::doGetAggregatedHistItemFilterQuery sql={}", sql);
+        List<Object[]> m;
+        try {
+            m = Yank.queryObjectArrays(sql, null);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+        if (m == null) {
+            logger.debug("JDBC::doGetAggregatedHistItemFilterQuery Query failed. Returning an empty list.");
+            return List.of();
+        }
+        // buckets containing only NULL values aggregate to NULL
+        return toHistoricItems(item, m.stream().filter(o -> o[0] != null && o[1] != null).toList());
+    }
+
+    private List<HistoricItem> toHistoricItems(Item item, List<Object[]> rows) {
         // we already retrieve the unit here once as it is a very costly operation
         String itemName = item.getName();
         Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
-        return m.stream()
+        return rows.stream()
                 .map(o -> new JdbcHistoricItem(itemName, objectAsState(item, unit, o[1]), objectAsInstant(o[0])))
                 .collect(Collectors.<HistoricItem> toList());
     }
@@ -531,6 +594,40 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    /**
+     * Provides the query for {@link #doGetAggregatedHistItemFilterQuery}. Each returned row holds the time of the
+     * first value of a bucket and the aggregated value. For {@link AggregationFunction#LAST} the row of the most recent
+     * value of each bucket is returned.
+     *
+     * The bucket is calculated by {@link #timeBucketProvider(long)}, dialects without UNIX_TIMESTAMP override it.
+     */
+    protected String histItemAggregateQueryProvider(FilterCriteria filter, String table, ZoneId timeZone,
+            long intervalSeconds, AggregationFunction function) {
+        logger.debug("JDBC::histItemAggregateQueryProvider filter = {}, table = {}, interval = {}s, function = {}",
+                filter, table, intervalSeconds, function);
+
+        String tableName = formattedIdentifier(table);
+        String filterString = resolveTimeFilter(filter, timeZone);
+        String bucket = timeBucketProvider(intervalSeconds);
+        String orderString = (filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY 1 ASC" : " ORDER BY 1 DESC";
+        // SELECT MIN(time), AVG(value) FROM number_item_0114 WHERE ... GROUP BY FLOOR(UNIX_TIMESTAMP(time) / 3600)
+        String queryString = function == AggregationFunction.LAST
+                ? "SELECT time, value FROM " + tableName + " WHERE time IN (SELECT MAX(time) FROM " + tableName
+                        + filterString + " GROUP BY " + bucket + ")" + orderString
+                : "SELECT MIN(time), " + function.name() + "(value) FROM " + tableName + filterString + " GROUP BY "
+                        + bucket + orderString;
+        logger.debug("JDBC::query queryString = {}", queryString);
+        return queryString;
+    }
+
+    /**
+     * Provides the SQL expression identifying the time bucket of a row.
+     */
+    protected String timeBucketProvider(long intervalSeconds) {
+        return StringUtilsExt.replaceArrayMerge(sqlTimeBucket, new String[] { "#interval#" },
+                new String[] { String.valueOf(intervalSeconds) });
+    }
+
     protected String histItemFilterDeleteProvider(FilterCriteria filter, String table, ZoneId timeZone) {
         logger.debug("JDBC::histItemFilterDeleteProvider filter = {}, table = {}", filter, table);
 
@@ -556,6 +653,23 @@ public class JdbcBaseDAO {
         return filterString;
     }
 
+    /**
+     * Provides the insert statement for a value with an explicit timestamp, which is bound as first parameter.
+     */
+    protected String insertItemValueQueryProvider(ItemVO storedVO) {
+        return cachedSql(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" },
+                new String[] { formattedIdentifier(storedVO.getTableName()), "?" });
+    }
+
+    /**
+     * Provides the parameters matching {@link #insertItemValueQueryProvider(ItemVO)}.
+     */
+    protected Object[] insertItemValueParamsProvider(ItemVO storedVO, ZonedDateTime date) {
+        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
+        return new Object[] { timestamp, storedVO.getValue() };
+    }
+
     private String updateItemTableNamesProvider(ItemVO itemTable) {
         String newTableName = itemTable.getNewTableName();
         if (newTableName == null) {
@@ -759,6 +873,21 @@ public class JdbcBaseDAO {
         };
     }
 
+    /**
+     * Resolves the placeholders of a SQL template like {@link StringUtilsExt#replaceArrayMerge(String, String[],
+     * String[])}. The resolved statement is cached per template and placeholder values, so that hot paths like
+     * inserting values do not repeat the string replacement and always pass an identical statement to the driver,
+     * which allows it to reuse prepared statements. Only statements per table are cached, so the cache is bounded by
+     * the number of item tables.
+     */
+    protected String cachedSql(String template, String[] placeholders, String[] values) {
+        return sqlCache.computeIfAbsent(new SqlTemplateKey(template, List.of(values)),
+                key -> StringUtilsExt.replaceArrayMerge(template, placeholders, values));
+    }
+
+    private record SqlTemplateKey(String template, List<String> values) {
+    }
+
     protected String formattedIdentifier(String identifier) {
         return identifier;
     }
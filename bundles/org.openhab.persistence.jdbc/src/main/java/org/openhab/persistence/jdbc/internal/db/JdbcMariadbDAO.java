@@ -70,6 +70,9 @@ public class JdbcMariadbDAO extends JdbcBaseDAO {
         databaseProps.setProperty("dataSource.cachePrepStmts", "true");
         databaseProps.setProperty("dataSource.prepStmtCacheSize", "250");
         databaseProps.setProperty("dataSource.prepStmtCacheSqlLimit", "2048");
+        // send JDBC batches in one round trip: rewriteBatchedStatements for older drivers, bulk statements for 3.x
+        databaseProps.setProperty("dataSource.rewriteBatchedStatements", "true");
+        databaseProps.setProperty("dataSource.useBulkStmts", "true");
         databaseProps.setProperty("dataSource.jdbcCompliantTruncation", "false");// jdbc standard max varchar max length
         // of 21845
 
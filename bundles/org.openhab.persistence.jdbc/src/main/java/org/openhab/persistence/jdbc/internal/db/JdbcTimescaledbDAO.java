@@ -12,12 +12,16 @@
  */
 package org.openhab.persistence.jdbc.internal.db;
 
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Properties;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
@@ -77,4 +81,30 @@ public class JdbcTimescaledbDAO extends JdbcPostgresqlDAO {
             throw new JdbcSQLException(e);
         }
     }
+
+    /*************
+     * Providers *
+     *************/
+
+    @Override
+    protected String histItemAggregateQueryProvider(FilterCriteria filter, String table, ZoneId timeZone,
+            long intervalSeconds, AggregationFunction function) {
+        this.logger.debug(
+                "JDBC::histItemAggregateQueryProvider filter = {}, table = {}, interval = {}s, function = {}", filter,
+                table, intervalSeconds, function);
+
+        // last() is a TimescaleDB aggregate, no self-join is needed
+        String columns = function == AggregationFunction.LAST ? "MAX(time), last(value, time)"
+                : "MIN(time), " + function.name() + "(value)";
+        String queryString = "SELECT " + columns + " FROM " + formattedIdentifier(table)
+                + resolveTimeFilter(filter, timeZone) + " GROUP BY " + timeBucketProvider(intervalSeconds)
+                + ((filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY 1 ASC" : " ORDER BY 1 DESC");
+        this.logger.debug("JDBC::query queryString = {}", queryString);
+        return queryString;
+    }
+
+    @Override
+    protected String timeBucketProvider(long intervalSeconds) {
+        return "time_bucket(INTERVAL '" + intervalSeconds + " seconds', time)";
+    }
 }
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.dto;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Function used to combine the values of one time bucket when historic values are aggregated by the database.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public enum AggregationFunction {
+    AVG,
+    MIN,
+    MAX,
+    /**
+     * The most recent value of a bucket.
+     */
+    LAST
+}
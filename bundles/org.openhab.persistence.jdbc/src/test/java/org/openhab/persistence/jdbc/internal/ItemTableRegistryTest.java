@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
+
+/**
+ * Tests the {@link ItemTableRegistry}.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class ItemTableRegistryTest {
+
+    private static final int ITEM_COUNT = 5000;
+    private static final int STORE_THREADS = 4;
+    private static final int QUERY_THREADS = 4;
+
+    private final ItemTableRegistry registry = new ItemTableRegistry();
+
+    @Test
+    void getOrCreateReturnsRegisteredTable() throws JdbcException {
+        registry.put("Item1", "item0001");
+
+        String tableName = registry.getOrCreate("Item1", itemName -> {
+            throw new JdbcException("must not be called");
+        });
+        assertThat(tableName, is("item0001"));
+    }
+
+    @Test
+    void getOrCreateDoesNotRegisterTableIfCreationFails() {
+        assertThrows(JdbcException.class, () -> registry.getOrCreate("Item1", itemName -> {
+            throw new JdbcException("failed");
+        }));
+        assertThat(registry.get("Item1"), is(nullValue()));
+    }
+
+    @Test
+    void reloadReplacesAllEntries() {
+        registry.put("Item1", "item0001");
+        registry.reload(() -> Map.of("Item2", "item0002"));
+
+        assertThat(registry.get("Item1"), is(nullValue()));
+        assertThat(registry.get("Item2"), is("item0002"));
+        assertThat(registry.getItemNames(), is(Set.of("Item2")));
+    }
+
+    @Test
+    void removeRemovesEntry() {
+        registry.put("Item1", "item0001");
+        registry.put("Item2", "item0002");
+        registry.remove("Item1");
+
+        assertThat(registry.asMap(), is(Map.of("Item2", "item0002")));
+    }
+
+    @Test
+    void concurrentStoreAndQueryDuringReloadCreateEachTableOnce() throws Exception {
+        // simulated database containing the created tables
+        Map<String, String> database = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> creationCount = new ConcurrentHashMap<>();
+        Map<String, String> storedItems = new ConcurrentHashMap<>();
+        AtomicInteger missingTables = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(STORE_THREADS + QUERY_THREADS + 1);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < STORE_THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ITEM_COUNT; i++) {
+                        String itemName = "Item" + i;
+                        String tableName = registry.getOrCreate(itemName, name -> {
+                            creationCount.computeIfAbsent(name, n -> new AtomicInteger()).incrementAndGet();
+                            String createdTable = "item" + name.substring(4);
+                            database.put(name, createdTable);
+                            return createdTable;
+                        });
+                        if (!tableName.equals(registry.get(itemName))) {
+                            missingTables.incrementAndGet();
+                        }
+                        storedItems.put(itemName, tableName);
+                    }
+                    return null;
+                }));
+            }
+            for (int t = 0; t < QUERY_THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    while (running.get()) {
+                        for (int i = 0; i < ITEM_COUNT; i++) {
+                            String itemName = "Item" + i;
+                            String storedTable = storedItems.get(itemName);
+                            if (storedTable != null && !storedTable.equals(registry.get(itemName))) {
+                                missingTables.incrementAndGet();
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            Future<?> reloader = executor.submit(() -> {
+                start.await();
+                while (running.get()) {
+                    registry.reload(() -> Map.copyOf(database));
+                }
+                return null;
+            });
+
+            start.countDown();
+            for (Future<?> worker : workers.subList(0, STORE_THREADS)) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+            running.set(false);
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+            reloader.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(missingTables.get(), is(0));
+        assertThat(creationCount.size(), is(ITEM_COUNT));
+        assertThat(creationCount.values().stream().allMatch(count -> count.get() == 1), is(true));
+        assertThat(registry.asMap(), is(database));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.persistence.jdbc.internal.dto.PendingItemValue;
+
+/**
+ * Tests the {@link JdbcBatchWriter}.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcBatchWriterTest {
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final List<List<PendingItemValue>> flushed = new ArrayList<>();
+    private final NumberItem item = new NumberItem("Temperature");
+
+    private PendingItemValue value(int i) {
+        return new PendingItemValue(item, new DecimalType(i), ZonedDateTime.now().plusSeconds(i), null);
+    }
+
+    @Test
+    void flushHandsOverValuesInChunksOfBatchSize() {
+        JdbcBatchWriter writer = new JdbcBatchWriter(scheduler, 3, 1000, 100, flushed::add);
+        for (int i = 0; i < 7; i++) {
+            writer.add(value(i));
+        }
+        writer.flush();
+
+        assertThat(flushed.size(), is(3));
+        assertThat(flushed.get(0).size(), is(3));
+        assertThat(flushed.get(1).size(), is(3));
+        assertThat(flushed.get(2).size(), is(1));
+        assertThat(flushed.get(2).get(0).state(), is(new DecimalType(6)));
+        assertThat(writer.size(), is(0));
+    }
+
+    @Test
+    void addSchedulesFlushWhenBatchSizeIsReached() {
+        JdbcBatchWriter writer = new JdbcBatchWriter(scheduler, 2, 1000, 100, flushed::add);
+        writer.add(value(0));
+        verify(scheduler, never()).execute(any());
+        writer.add(value(1));
+        writer.add(value(2));
+        verify(scheduler, times(1)).execute(any());
+    }
+
+    @Test
+    void addFlushesOnCallingThreadWhenQueueIsFull() {
+        JdbcBatchWriter writer = new JdbcBatchWriter(scheduler, 2, 1000, 4, flushed::add);
+        for (int i = 0; i < 5; i++) {
+            assertThat(writer.add(value(i)), is(true));
+        }
+
+        assertThat(flushed.size(), is(2));
+        assertThat(writer.size(), is(1));
+    }
+
+    @Test
+    void stopStoresPendingValues() {
+        JdbcBatchWriter writer = new JdbcBatchWriter(scheduler, 10, 1000, 100, flushed::add);
+        writer.add(value(0));
+        writer.add(value(1));
+        writer.stop();
+
+        assertThat(flushed.size(), is(1));
+        assertThat(flushed.get(0).size(), is(2));
+    }
+}
@@ -16,6 +16,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.time.Instant;
@@ -66,6 +67,8 @@ import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
+import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 
 /**
  * Tests the {@link JdbcBaseDAO}.
@@ -192,6 +195,28 @@ public class JdbcBaseDAOTest {
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC LIMIT 0,1"));
     }
 
+    @Test
+    void testHistItemAggregateQueryProviderReturnsGroupedQuery() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
+        filter.setOrdering(Ordering.ASCENDING);
+
+        String sql = jdbcBaseDAO.histItemAggregateQueryProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID, 3600,
+                AggregationFunction.AVG);
+        assertThat(sql, is("SELECT MIN(time), AVG(value) FROM " + DB_TABLE_NAME + " WHERE TIME>='" //
+                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'" //
+                + " AND TIME<='" + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate()))
+                + "' GROUP BY FLOOR(UNIX_TIMESTAMP(time) / 3600) ORDER BY 1 ASC"));
+    }
+
+    @Test
+    void testHistItemAggregateQueryProviderForLastReturnsLatestRowOfEachBucket() {
+        String sql = jdbcBaseDAO.histItemAggregateQueryProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID, 60,
+                AggregationFunction.LAST);
+        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE time IN (SELECT MAX(time) FROM "
+                + DB_TABLE_NAME + " GROUP BY FLOOR(UNIX_TIMESTAMP(time) / 60)) ORDER BY 1 DESC"));
+    }
+
     @Test
     void testHistItemFilterDeleteProviderReturnsDeleteQueryWithoutWhereClause() {
         String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
@@ -247,6 +272,25 @@ public class JdbcBaseDAOTest {
                         + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate())) + "'"));
     }
 
+    @Test
+    void testInsertItemValueQueryProviderReturnsInsertQueryWithTimestampParameter() {
+        String sql = jdbcBaseDAO.insertItemValueQueryProvider(new ItemVO(DB_TABLE_NAME, null));
+        assertThat(sql, is("INSERT INTO " + DB_TABLE_NAME
+                + " (time, value) VALUES( ?, ? ) ON DUPLICATE KEY UPDATE VALUE=VALUES(VALUE)"));
+    }
+
+    @Test
+    void testCachedSqlReturnsSameStatementForSameValues() {
+        String template = "SELECT * FROM #tableName#";
+        String[] placeholders = new String[] { "#tableName#" };
+
+        String sql = jdbcBaseDAO.cachedSql(template, placeholders, new String[] { DB_TABLE_NAME });
+        assertThat(sql, is("SELECT * FROM " + DB_TABLE_NAME));
+        assertSame(sql, jdbcBaseDAO.cachedSql(template, placeholders, new String[] { DB_TABLE_NAME }));
+        assertThat(jdbcBaseDAO.cachedSql(template, placeholders, new String[] { "othertable" }),
+                is("SELECT * FROM othertable"));
+    }
+
     private ZonedDateTime parseDateTimeString(String dts) {
         return ZonedDateTime.of(LocalDateTime.parse(dts, DATE_PARSER), UTC_ZONE_ID);
     }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.persistence.jdbc.internal.dto.AggregationFunction;
+
+/**
+ * Tests the aggregation queries of the {@link JdbcHsqldbDAO} against an in-memory HSQLDB database.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcHsqldbDAOTest {
+
+    private static final ZoneId UTC_ZONE_ID = ZoneId.of("UTC");
+    private static final String DB_TABLE_NAME = "item0001";
+    private static final LocalDateTime START = LocalDateTime.of(2022, 1, 10, 0, 0);
+
+    private final JdbcHsqldbDAO jdbcHsqldbDAO = new JdbcHsqldbDAO();
+    private final FilterCriteria filter = new FilterCriteria();
+    private @NonNullByDefault({}) Connection connection;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:hsqldb:mem:aggregation", "SA", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + DB_TABLE_NAME
+                    + " (time TIMESTAMP NOT NULL, value DOUBLE, PRIMARY KEY(time))");
+        }
+        // one value every 20 minutes for two hours: 1, 2, 3 in the first hour and 4, 5, 6 in the second
+        try (PreparedStatement statement = connection
+                .prepareStatement("INSERT INTO " + DB_TABLE_NAME + " (time, value) VALUES (?, ?)")) {
+            for (int i = 0; i < 6; i++) {
+                statement.setTimestamp(1, Timestamp.valueOf(START.plusMinutes(20 * i)));
+                statement.setDouble(2, i + 1);
+                statement.executeUpdate();
+            }
+        }
+        filter.setBeginDate(ZonedDateTime.of(START, UTC_ZONE_ID));
+        filter.setEndDate(ZonedDateTime.of(START.plusHours(2), UTC_ZONE_ID));
+        filter.setOrdering(Ordering.ASCENDING);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + DB_TABLE_NAME);
+        }
+        connection.close();
+    }
+
+    private List<String> query(AggregationFunction function) throws SQLException {
+        String sql = jdbcHsqldbDAO.histItemAggregateQueryProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID, 3600,
+                function);
+        List<String> rows = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                rows.add(resultSet.getTimestamp(1).toLocalDateTime() + "=" + resultSet.getDouble(2));
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    void testAggregateQueryAveragesValuesPerBucket() throws SQLException {
+        assertThat(query(AggregationFunction.AVG), is(List.of("2022-01-10T00:00=2.0", "2022-01-10T01:00=5.0")));
+    }
+
+    @Test
+    void testAggregateQueryForLastReturnsLatestValuePerBucket() throws SQLException {
+        assertThat(query(AggregationFunction.LAST), is(List.of("2022-01-10T00:40=3.0", "2022-01-10T01:40=6.0")));
+    }
+}
@@ -35,12 +35,19 @@ public class JpaConfiguration {
     private static final String CFG_USERNAME = "user";
     private static final String CFG_PASSWORD = "password";
     private static final String CFG_SYNCMAPPING = "syncmappings";
+    private static final String CFG_BATCH_INTERVAL = "batchInterval";
+    private static final String CFG_BATCH_SIZE = "batchSize";
+
+    private static final int DEFAULT_BATCH_INTERVAL = 0;
+    private static final int DEFAULT_BATCH_SIZE = 100;
 
     public final String dbConnectionUrl;
     public final String dbDriverClass;
     public final String dbUserName;
     public final String dbPassword;
     public final String dbSyncMapping;
+    public final int batchInterval;
+    public final int batchSize;
 
     public JpaConfiguration(final Map<String, @Nullable Object> properties) throws IllegalArgumentException {
         logger.debug("Creating JPA config...");
@@ -81,6 +88,25 @@ public class JpaConfiguration {
         }
         dbSyncMapping = param == null ? "" : param;
 
+        batchInterval = Math.max(0, parseInt(properties, CFG_BATCH_INTERVAL, DEFAULT_BATCH_INTERVAL));
+        batchSize = Math.max(1, parseInt(properties, CFG_BATCH_SIZE, DEFAULT_BATCH_SIZE));
+        logger.debug("batchInterval: {}, batchSize: {}", batchInterval, batchSize);
+
         logger.debug("Creating JPA config... done");
     }
+
+    private static int parseInt(Map<String, @Nullable Object> properties, String key, int defaultValue)
+            throws IllegalArgumentException {
+        Object param = properties.get(key);
+        if (param instanceof Number number) {
+            return number.intValue();
+        } else if (param instanceof String string && !string.isBlank()) {
+            try {
+                return Integer.parseInt(string.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + key + " '" + string + "' in JPA configuration!");
+            }
+        }
+        return defaultValue;
+    }
 }
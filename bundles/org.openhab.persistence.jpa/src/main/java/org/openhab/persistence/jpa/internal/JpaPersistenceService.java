@@ -12,15 +12,23 @@
  */
 package org.openhab.persistence.jpa.internal;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
@@ -75,6 +83,13 @@ public class JpaPersistenceService implements QueryablePersistenceService {
 
     private boolean initialized;
 
+    // items collected for the next batch when batching is enabled
+    private final Queue<JpaPersistentItem> pendingItems = new ConcurrentLinkedQueue<>();
+    private final Lock batchLock = new ReentrantLock();
+    // only used while holding the batch lock
+    private @Nullable EntityManager batchEntityManager;
+    private volatile @Nullable ScheduledFuture<?> batchJob;
+
     @Activate
     public JpaPersistenceService(BundleContext context, Map<String, @Nullable Object> properties,
             final @Reference ItemRegistry itemRegistry) {
@@ -83,6 +98,10 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         try {
             config = new JpaConfiguration(properties);
             initialized = true;
+            if (config.batchInterval > 0) {
+                batchJob = ThreadPoolManager.getScheduledPool("org.openhab.jpa").scheduleWithFixedDelay(
+                        this::writePendingItems, config.batchInterval, config.batchInterval, TimeUnit.MILLISECONDS);
+            }
         } catch (IllegalArgumentException e) {
             logger.warn("{}", e.getMessage());
         }
@@ -108,6 +127,12 @@ public class JpaPersistenceService implements QueryablePersistenceService {
     @Deactivate
     public void deactivate() {
         logger.debug("Deactivating JPA persistence service");
+        ScheduledFuture<?> batchJob = this.batchJob;
+        if (batchJob != null) {
+            batchJob.cancel(false);
+            this.batchJob = null;
+            writePendingItems();
+        }
         closeEntityManagerFactory();
     }
 
@@ -156,7 +181,26 @@ public class JpaPersistenceService implements QueryablePersistenceService {
         pItem.setRealName(item.getName());
         pItem.setTimestamp(new Date());
 
+        if (batchJob != null) {
+            pendingItems.add(pItem);
+            logger.debug("Storing item...queued");
+            return;
+        }
+
         EntityManager em = getEntityManagerFactory().createEntityManager();
+        try {
+            persistItem(em, pItem);
+        } finally {
+            em.close();
+        }
+
+        logger.debug("Storing item...done");
+    }
+
+    /**
+     * Persists a single item in its own transaction.
+     */
+    private void persistItem(EntityManager em, JpaPersistentItem pItem) {
         try {
             logger.debug("Persisting item...");
             // In RESOURCE_LOCAL calls to EntityManager require a begin/commit
@@ -168,16 +212,88 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             if (e.getCause() instanceof EntityExistsException) {
                 // there's a UNIQUE constraint in the database, and we tried to write
                 // a duplicate timestamp. Just ignore
-                logger.debug("Failed to persist item {} because of duplicate timestamp", name);
+                logger.debug("Failed to persist item {} because of duplicate timestamp", pItem.getName());
             } else {
                 logger.error("Error while persisting item! Rolling back!", e);
             }
-            em.getTransaction().rollback();
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+        }
+    }
+
+    /**
+     * Writes the collected items in batches of at most <code>batchSize</code> items, each in a single transaction.
+     * The EntityManager is kept open between batches.
+     */
+    private void writePendingItems() {
+        batchLock.lock();
+        try {
+            while (!pendingItems.isEmpty()) {
+                List<JpaPersistentItem> batch = new ArrayList<>();
+                JpaPersistentItem pItem;
+                while (batch.size() < config.batchSize && (pItem = pendingItems.poll()) != null) {
+                    batch.add(pItem);
+                }
+                persistBatch(batch);
+            }
+            if (batchJob == null) {
+                closeBatchEntityManager();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error while persisting items!", e);
+            closeBatchEntityManager();
         } finally {
-            em.close();
+            batchLock.unlock();
         }
+    }
 
-        logger.debug("Storing item...done");
+    private void persistBatch(List<JpaPersistentItem> batch) {
+        EntityManager em = batchEntityManager;
+        if (em == null || !em.isOpen()) {
+            em = getEntityManagerFactory().createEntityManager();
+            batchEntityManager = em;
+        }
+        try {
+            logger.debug("Persisting {} items...", batch.size());
+            em.getTransaction().begin();
+            for (JpaPersistentItem pItem : batch) {
+                em.persist(pItem);
+            }
+            em.getTransaction().commit();
+            logger.debug("Persisting {} items...done", batch.size());
+        } catch (Exception e) {
+            // a single item, e.g. with a duplicate timestamp, fails the whole transaction
+            logger.debug("Failed to persist {} items in one transaction, persisting them one by one: {}", batch.size(),
+                    e.getMessage());
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.clear();
+            for (JpaPersistentItem pItem : batch) {
+                persistItem(em, copy(pItem));
+            }
+        } finally {
+            // the items are not needed anymore, keep the persistence context small
+            em.clear();
+        }
+    }
+
+    private static JpaPersistentItem copy(JpaPersistentItem pItem) {
+        JpaPersistentItem copy = new JpaPersistentItem();
+        copy.setName(pItem.getName());
+        copy.setRealName(pItem.getRealName());
+        copy.setTimestamp(Date.from(pItem.getInstant()));
+        copy.setValue(pItem.getValue());
+        return copy;
+    }
+
+    private void closeBatchEntityManager() {
+        EntityManager em = batchEntityManager;
+        batchEntityManager = null;
+        if (em != null && em.isOpen()) {
+            em.close();
+        }
     }
 
     @Override
@@ -233,6 +349,11 @@ public class JpaPersistenceService implements QueryablePersistenceService {
 
         logger.debug("The query: {}", queryString);
 
+        if (batchJob != null) {
+            // make collected items visible to the query
+            writePendingItems();
+        }
+
         EntityManager em = getEntityManagerFactory().createEntityManager();
         try {
             // In RESOURCE_LOCAL calls to EntityManager require a begin/commit
@@ -297,6 +418,10 @@ public class JpaPersistenceService implements QueryablePersistenceService {
             logger.info("You are setting openjpa.jdbc.SynchronizeMappings, I hope you know what you're doing!");
             properties.put("openjpa.jdbc.SynchronizeMappings", config.dbSyncMapping);
         }
+        if (config.batchInterval > 0) {
+            // send the inserts of a transaction in JDBC batches
+            properties.put("openjpa.jdbc.DBDictionary", "batchLimit=" + config.batchSize);
+        }
 
         EntityManagerFactory factory = Persistence.createEntityManagerFactory(getPersistenceUnitName(), properties);
         logger.debug("Creating EntityManagerFactory...done");
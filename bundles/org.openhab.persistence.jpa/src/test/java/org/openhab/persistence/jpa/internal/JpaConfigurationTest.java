@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the parsing of the {@link JpaConfiguration}.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class JpaConfigurationTest {
+
+    private static Map<String, @Nullable Object> properties(@Nullable Object... keysAndValues) {
+        Map<String, @Nullable Object> properties = new HashMap<>();
+        properties.put("url", "jdbc:derby:memory:openhab;create=true");
+        properties.put("driver", "org.apache.derby.iapi.jdbc.AutoloadedDriver");
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            properties.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return properties;
+    }
+
+    @Test
+    public void defaults() {
+        JpaConfiguration config = new JpaConfiguration(properties());
+
+        assertThat(config.dbConnectionUrl, is("jdbc:derby:memory:openhab;create=true"));
+        assertThat(config.dbDriverClass, is("org.apache.derby.iapi.jdbc.AutoloadedDriver"));
+        assertThat(config.dbUserName, is(""));
+        assertThat(config.dbPassword, is(""));
+        assertThat(config.dbSyncMapping, is(""));
+        assertThat(config.batchInterval, is(0));
+        assertThat(config.batchSize, is(100));
+    }
+
+    @Test
+    public void batchSettingsFromNumbersAndStrings() {
+        JpaConfiguration config = new JpaConfiguration(properties("batchInterval", 500, "batchSize", " 25 "));
+        assertThat(config.batchInterval, is(500));
+        assertThat(config.batchSize, is(25));
+
+        config = new JpaConfiguration(properties("batchInterval", "1000", "batchSize", 50L));
+        assertThat(config.batchInterval, is(1000));
+        assertThat(config.batchSize, is(50));
+    }
+
+    @Test
+    public void batchSettingsAreClamped() {
+        JpaConfiguration config = new JpaConfiguration(properties("batchInterval", -1, "batchSize", 0));
+        assertThat(config.batchInterval, is(0));
+        assertThat(config.batchSize, is(1));
+    }
+
+    @Test
+    public void blankBatchSettingsUseDefaults() {
+        JpaConfiguration config = new JpaConfiguration(properties("batchInterval", "", "batchSize", " "));
+        assertThat(config.batchInterval, is(0));
+        assertThat(config.batchSize, is(100));
+    }
+
+    @Test
+    public void invalidBatchSettingIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new JpaConfiguration(properties("batchInterval", "one second")));
+    }
+
+    @Test
+    public void missingOrBlankConnectionSettingsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new JpaConfiguration(properties("url", null)));
+        assertThrows(IllegalArgumentException.class, () -> new JpaConfiguration(properties("url", " ")));
+        assertThrows(IllegalArgumentException.class, () -> new JpaConfiguration(properties("driver", null)));
+        assertThrows(IllegalArgumentException.class, () -> new JpaConfiguration(properties("driver", "")));
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jpa.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.types.State;
+import org.osgi.framework.BundleContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests the batched writes of the {@link JpaPersistenceService} with an embedded in-memory Derby database.
+ *
+ * @author matgroe - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class JpaPersistenceServiceTest {
+    private static final String DRIVER = "org.apache.derby.iapi.jdbc.AutoloadedDriver";
+    private static final int BATCH_INTERVAL = 3600000; // in ms, items are only written by queries
+    private static final int MEASURED_STATES = 2000;
+
+    private final Logger logger = LoggerFactory.getLogger(JpaPersistenceServiceTest.class);
+
+    private @Mock @NonNullByDefault({}) BundleContext context;
+    private @Mock @NonNullByDefault({}) ItemRegistry itemRegistry;
+
+    private final String url = "jdbc:derby:memory:" + UUID.randomUUID();
+    private final NumberItem item1 = new NumberItem("item1");
+    private final NumberItem item2 = new NumberItem("item2");
+    private final NumberItem singleItem = new NumberItem("single");
+    private final NumberItem batchedItem = new NumberItem("batched");
+    private final List<JpaPersistenceService> services = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() throws ItemNotFoundException {
+        when(itemRegistry.getItem("item1")).thenReturn(item1);
+        when(itemRegistry.getItem("item2")).thenReturn(item2);
+        when(itemRegistry.getItem("single")).thenReturn(singleItem);
+        when(itemRegistry.getItem("batched")).thenReturn(batchedItem);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        services.forEach(JpaPersistenceService::deactivate);
+        try {
+            DriverManager.getConnection(url + ";drop=true").close();
+        } catch (SQLException e) {
+            // Derby reports a successful drop with an exception
+        }
+    }
+
+    private JpaPersistenceService createService(int batchInterval) {
+        return createService(batchInterval, 10);
+    }
+
+    private JpaPersistenceService createService(int batchInterval, int batchSize) {
+        Map<String, @Nullable Object> properties = new HashMap<>();
+        properties.put("url", url + ";create=true");
+        properties.put("driver", DRIVER);
+        properties.put("syncmappings", "buildSchema(SchemaAction='add')");
+        properties.put("batchInterval", batchInterval);
+        properties.put("batchSize", batchSize);
+        JpaPersistenceService service = new JpaPersistenceService(context, properties, itemRegistry);
+        services.add(service);
+        return service;
+    }
+
+    private void store(JpaPersistenceService service, NumberItem item, int value) {
+        item.setState(new DecimalType(value));
+        service.store(item);
+    }
+
+    private List<State> query(JpaPersistenceService service, String itemName) {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(itemName);
+        filter.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        List<State> states = new ArrayList<>();
+        service.query(filter).forEach(historicItem -> states.add(historicItem.getState()));
+        return states;
+    }
+
+    @Test
+    public void batchIsWritten() {
+        JpaPersistenceService service = createService(BATCH_INTERVAL);
+        store(service, item1, 1);
+        store(service, item2, 2);
+        store(service, item1, 3);
+
+        // both states may have the same timestamp
+        assertThat(query(service, "item1"), containsInAnyOrder(new DecimalType(1), new DecimalType(3)));
+        assertThat(query(service, "item2"), contains(new DecimalType(2)));
+    }
+
+    @Test
+    public void batchWithRejectedItemIsWrittenOneByOne() throws SQLException {
+        // create the table, then reject a second state of an item like a unique constraint on the timestamp would
+        JpaPersistenceService seed = createService(0);
+        store(seed, new NumberItem("seed"), 0);
+        try (Connection connection = DriverManager.getConnection(url);
+                Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE HISTORIC_ITEM ADD CONSTRAINT UNIQUE_NAME UNIQUE (NAME)");
+        }
+
+        JpaPersistenceService service = createService(BATCH_INTERVAL);
+        store(service, item1, 1);
+        store(service, item1, 2);
+        store(service, item2, 3);
+
+        // the whole batch fails, the items before and after the rejected one are written
+        assertThat(query(service, "item1"), contains(new DecimalType(1)));
+        assertThat(query(service, "item2"), contains(new DecimalType(3)));
+    }
+
+    @Test
+    public void batchedWritesAreMeasured() {
+        // warm up OpenJPA and Derby, so the first measurement does not include the table creation
+        JpaPersistenceService seed = createService(0);
+        store(seed, new NumberItem("seed"), 0);
+
+        JpaPersistenceService single = createService(0);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_STATES; i++) {
+            store(single, singleItem, i);
+        }
+        assertThat(query(single, "single"), hasSize(MEASURED_STATES));
+        long singleMillis = (System.nanoTime() - start) / 1000000;
+
+        JpaPersistenceService batched = createService(BATCH_INTERVAL, 100);
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_STATES; i++) {
+            store(batched, batchedItem, i);
+        }
+        assertThat(query(batched, "batched"), hasSize(MEASURED_STATES));
+        long batchedMillis = (System.nanoTime() - start) / 1000000;
+
+        logger.info("Storing {} states in Derby took {} ms one by one and {} ms in batches of 100", MEASURED_STATES,
+                singleMillis, batchedMillis);
+    }
+}
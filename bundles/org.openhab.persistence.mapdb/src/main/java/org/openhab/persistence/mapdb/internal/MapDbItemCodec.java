@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.PlayPauseType;
+import org.openhab.core.library.types.PointType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.RawType;
+import org.openhab.core.library.types.RewindFastforwardType;
+import org.openhab.core.library.types.StringListType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+
+/**
+ * Binary encoding of {@link MapDbItem}s.
+ *
+ * States are stored like in the JSON format of the {@link StateTypeAdapter} as type and full string, but the common
+ * state types are stored as a single byte instead of their class name.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+class MapDbItemCodec {
+    private static final byte VERSION = 1;
+
+    private static final byte NO_STATE = 0;
+    private static final byte STATE_CLASS_NAME = 1;
+    private static final int FIRST_KNOWN_TYPE = 2;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    // the position of a type is its tag in the encoded data, new types must only be appended
+    private static final List<Class<? extends State>> KNOWN_TYPES = List.of(DecimalType.class, QuantityType.class,
+            StringType.class, OnOffType.class, OpenClosedType.class, PercentType.class, HSBType.class,
+            DateTimeType.class, UpDownType.class, PlayPauseType.class, RewindFastforwardType.class, PointType.class,
+            StringListType.class, RawType.class);
+
+    private MapDbItemCodec() {
+        // prevent instantiation
+    }
+
+    /**
+     * Encodes an item.
+     *
+     * @param item the item to encode
+     * @return the encoded item
+     */
+    static byte[] encode(MapDbItem item) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeString(out, item.getName());
+            out.writeLong(item.getTimestamp().toInstant().toEpochMilli());
+            writeState(out, item.getState());
+            writeState(out, item.getLastState());
+            ZonedDateTime lastStateChange = item.getLastStateChange();
+            out.writeLong(lastStateChange != null ? lastStateChange.toInstant().toEpochMilli() : NO_TIMESTAMP);
+        } catch (IOException e) {
+            // cannot happen when writing to a byte array
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes an item.
+     *
+     * @param data the encoded item
+     * @return the decoded item
+     * @throws IOException if the data is not a valid encoded item
+     */
+    static MapDbItem decode(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version " + version);
+        }
+        MapDbItem item = new MapDbItem();
+        item.setName(readString(in));
+        item.setTimestamp(new Date(in.readLong()));
+        State state = readState(in);
+        if (state == null) {
+            throw new IOException("Missing state");
+        }
+        item.setState(state);
+        item.setLastState(readState(in));
+        long lastStateChange = in.readLong();
+        item.setLastStateChange(lastStateChange != NO_TIMESTAMP ? new Date(lastStateChange) : null);
+        return item;
+    }
+
+    private static void writeState(DataOutput out, @Nullable State state) throws IOException {
+        if (state == null) {
+            out.writeByte(NO_STATE);
+            return;
+        }
+        int index = KNOWN_TYPES.indexOf(state.getClass());
+        if (index >= 0) {
+            out.writeByte(FIRST_KNOWN_TYPE + index);
+        } else {
+            out.writeByte(STATE_CLASS_NAME);
+            writeString(out, state.getClass().getName());
+        }
+        writeString(out, state.toFullString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @Nullable State readState(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        if (tag == NO_STATE) {
+            return null;
+        }
+        Class<? extends State> type;
+        if (tag == STATE_CLASS_NAME) {
+            String typeName = readString(in);
+            try {
+                type = (Class<? extends State>) Class.forName(typeName);
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Unknown state type " + typeName);
+            }
+        } else if (tag - FIRST_KNOWN_TYPE < KNOWN_TYPES.size()) {
+            type = KNOWN_TYPES.get(tag - FIRST_KNOWN_TYPE);
+        } else {
+            throw new IOException("Unknown state tag " + tag);
+        }
+        String value = readString(in);
+        State state = TypeParser.parseState(List.of(type), value);
+        if (state == null) {
+            throw new IOException("Cannot parse '" + value + "' as " + type.getSimpleName());
+        }
+        return state;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // variable length, so short strings only need a single byte for their length
+        int length = bytes.length;
+        while ((length & ~0x7F) != 0) {
+            out.writeByte((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        out.writeByte(length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = 0;
+        for (int shift = 0;; shift += 7) {
+            if (shift > 28) {
+                throw new IOException("Invalid string length");
+            }
+            int b = in.readUnsignedByte();
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        if (length < 0 || length > in.available()) {
+            throw new IOException("Invalid string length");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -25,7 +25,11 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -35,6 +39,8 @@ import org.mapdb.DB;
 import org.mapdb.DBMaker;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.persistence.FilterCriteria;
@@ -49,7 +55,9 @@ import org.openhab.core.types.UnDefType;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,33 +72,47 @@ import com.google.gson.GsonBuilder;
  * @author Martin Kühl - Port to 3.x
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class }, property = Constants.SERVICE_PID
-        + "=org.openhab.mapdb")
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb", configurationPolicy = ConfigurationPolicy.OPTIONAL, property = Constants.SERVICE_PID
+                + "=org.openhab.mapdb")
+@ConfigurableService(category = "persistence", label = "MapDB Persistence Service", description_uri = MapDbPersistenceService.CONFIG_URI)
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String SERVICE_ID = "mapdb";
     private static final String SERVICE_LABEL = "MapDB";
+    protected static final String CONFIG_URI = "persistence:mapdb";
+    private static final String COMMIT_INTERVAL_CONFIG = "commitInterval";
     private static final Path DB_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve("mapdb");
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
+    private static final int DEFAULT_COMMIT_INTERVAL = 0; // in ms
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
-    private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    private final ScheduledExecutorService threadPool = ThreadPoolManager
+            .getScheduledPool(getClass().getSimpleName());
 
     /**
      * holds the local instance of the MapDB database
      */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+    // values are binary encoded items, or JSON strings written by older versions
+    private @NonNullByDefault({}) Map<String, Object> map;
+
+    // encoded items not yet written to the database, the last stored item of an alias wins
+    private final Map<String, byte[]> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean commitScheduled = new AtomicBoolean();
+    private @Nullable ScheduledFuture<?> commitJob;
+    private volatile int commitInterval = DEFAULT_COMMIT_INTERVAL;
 
     private transient Gson mapper = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
             .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
 
     @Activate
-    public void activate() {
+    public void activate(Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
+        modified(config);
 
         try {
             Files.createDirectories(DB_DIR);
@@ -144,11 +166,25 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         logger.debug("MapDB persistence service is now activated");
     }
 
+    @Modified
+    public void modified(Map<String, Object> config) {
+        commitInterval = Math.max(0,
+                ConfigParser.valueAsOrElse(config.get(COMMIT_INTERVAL_CONFIG), Integer.class, DEFAULT_COMMIT_INTERVAL));
+    }
+
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
-        if (db != null) {
-            db.close();
+        ScheduledFuture<?> job = commitJob;
+        if (job != null) {
+            job.cancel(false);
+        }
+        // a commit that is already running finishes before the database is closed
+        synchronized (this) {
+            if (db != null) {
+                commit();
+                db.close();
+            }
         }
     }
 
@@ -164,7 +200,10 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
+        return Stream
+                .concat(map.entrySet().stream().filter(entry -> !pending.containsKey(entry.getKey()))
+                        .map(Map.Entry::getValue), pending.values().stream())
+                .map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
                 .collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
     }
 
@@ -192,31 +231,57 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setTimestamp(lastStateUpdate != null ? Date.from(lastStateUpdate.toInstant()) : new Date());
         ZonedDateTime lastStateChange = item.getLastStateChange();
         mItem.setLastStateChange(lastStateChange != null ? Date.from(lastStateChange.toInstant()) : null);
-        threadPool.submit(() -> {
-            String json = serialize(mItem);
-            map.put(localAlias, json);
-            db.commit();
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
-        });
+        pending.put(localAlias, MapDbItemCodec.encode(mItem));
+        logger.debug("Stored '{}' with state '{}' in MapDB database", localAlias, state);
+        if (commitScheduled.compareAndSet(false, true)) {
+            commitJob = threadPool.schedule(this::commit, commitInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes all pending items to the database with a single commit. Nothing is written if the database failed to
+     * open or has been closed.
+     */
+    private synchronized void commit() {
+        // items stored from now on schedule the next commit
+        commitScheduled.set(false);
+        if (pending.isEmpty() || db == null || db.isClosed()) {
+            return;
+        }
+        int count = 0;
+        for (Map.Entry<String, byte[]> entry : pending.entrySet()) {
+            map.put(entry.getKey(), entry.getValue());
+            // keep the item if it has been replaced in the meantime
+            pending.remove(entry.getKey(), entry.getValue());
+            count++;
+        }
+        db.commit();
+        logger.debug("Committed {} items to MapDB database", count);
+    }
+
+    private @Nullable Object get(String alias) {
+        Object value = pending.get(alias);
+        return value != null ? value : map.get(alias);
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
+        String itemName = filter.getItemName();
+        Object value = itemName != null ? get(itemName) : null;
+        if (value == null) {
             return List.of();
         }
-        Optional<MapDbItem> item = deserialize(json);
+        Optional<MapDbItem> item = deserialize(value);
         return item.isPresent() ? List.of(item.get()) : List.of();
     }
 
     @Override
     public @Nullable PersistedItem persistedItem(String itemName, @Nullable String alias) {
-        String json = map.get(alias != null ? alias : itemName);
-        if (json == null) {
+        Object value = get(alias != null ? alias : itemName);
+        if (value == null) {
             return null;
         }
-        Optional<MapDbItem> item = deserialize(json);
+        Optional<MapDbItem> item = deserialize(value);
         MapDbItem dbItem = item.orElse(null);
         if (dbItem != null) {
             dbItem.setName(itemName);
@@ -224,12 +289,28 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         return dbItem;
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    private Optional<MapDbItem> deserialize(Object value) {
+        if (value instanceof byte[] data) {
+            try {
+                MapDbItem item = MapDbItemCodec.decode(data);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Deserialized '{}' with state '{}'", item.getName(), item.getState());
+                }
+                return Optional.of(item);
+            } catch (IOException e) {
+                logger.warn("Deserialized invalid item: {}", e.getMessage());
+                return Optional.empty();
+            }
+        } else if (value instanceof String json) {
+            // written by older versions, replaced by the binary encoding when the item is stored again
+            return deserializeJson(json);
+        }
+        logger.warn("Deserialized invalid item of type {}", value.getClass().getName());
+        return Optional.empty();
     }
 
     @SuppressWarnings("null")
-    private Optional<MapDbItem> deserialize(String json) {
+    private Optional<MapDbItem> deserializeJson(String json) {
         MapDbItem item = mapper.fromJson(json, MapDbItem.class);
         if (item == null || !item.isValid()) {
             logger.warn("Deserialized invalid item: {}", item);
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.PointType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.SIUnits;
+import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbItemCodecTest {
+
+    private static MapDbItem createItem(State state, State lastState) {
+        MapDbItem item = new MapDbItem();
+        item.setName("Item");
+        item.setState(state);
+        item.setTimestamp(new Date(1700000000123L));
+        item.setLastState(lastState);
+        item.setLastStateChange(new Date(1600000000456L));
+        return item;
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    public void encodeDecodeRoundtripShouldRecreateTheItem(State state) throws IOException {
+        MapDbItem item = createItem(state, UnDefType.UNDEF);
+
+        MapDbItem actual = MapDbItemCodec.decode(MapDbItemCodec.encode(item));
+
+        assertThat(actual.getName(), is("Item"));
+        assertThat(actual.getState(), is(equalTo(state)));
+        assertThat(actual.getTimestamp(), is(item.getTimestamp()));
+        assertThat(actual.getLastState(), is(UnDefType.UNDEF));
+        assertThat(actual.getLastStateChange(), is(item.getLastStateChange()));
+    }
+
+    public static Stream<State> encodeDecodeRoundtripShouldRecreateTheItem() {
+        return Stream.of(DecimalType.ZERO, new DecimalType(1.123), HSBType.fromRGB(11, 22, 33), OnOffType.ON,
+                PercentType.valueOf("99.999"), new QuantityType<>(new BigDecimal("21.23"), SIUnits.CELSIUS),
+                QuantityType.valueOf(20, Units.AMPERE), StringType.valueOf("@@@###   @@@"), StringType.valueOf(""),
+                StringType.valueOf("x".repeat(100000)), new DateTimeType("2024-01-02T03:04:05.678Z"),
+                new PointType("52.5,13.4"));
+    }
+
+    @Test
+    public void encodeDecodeShouldKeepMissingLastState() throws IOException {
+        MapDbItem item = new MapDbItem();
+        item.setName("Item");
+        item.setState(OnOffType.OFF);
+
+        MapDbItem actual = MapDbItemCodec.decode(MapDbItemCodec.encode(item));
+
+        assertThat(actual.getState(), is(OnOffType.OFF));
+        assertThat(actual.getLastState(), is(nullValue()));
+        assertThat(actual.getLastStateChange(), is(nullValue()));
+    }
+
+    @Test
+    public void encodedItemShouldBeSmallerThanJson() {
+        Gson mapper = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
+                .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
+        MapDbItem item = createItem(new DecimalType(21.5), new DecimalType(21));
+
+        assertThat(MapDbItemCodec.encode(item).length < mapper.toJson(item).length(), is(true));
+    }
+
+    @Test
+    public void decodeShouldRejectInvalidData() {
+        byte[] data = MapDbItemCodec.encode(createItem(OnOffType.ON, OnOffType.OFF));
+
+        assertThrows(IOException.class, () -> MapDbItemCodec.decode(new byte[] { 2 }));
+        assertThrows(IOException.class, () -> MapDbItemCodec.decode(Arrays.copyOf(data, data.length - 3)));
+    }
+}
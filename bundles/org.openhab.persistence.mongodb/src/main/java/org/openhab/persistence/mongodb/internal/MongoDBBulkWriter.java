@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mongodb.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+
+/**
+ * Buffers documents per collection and writes them with unordered <code>insertMany</code> calls.
+ *
+ * A collection is written as soon as <code>batchSize</code> documents are buffered for it, all buffered documents are
+ * written every <code>interval</code>. Documents are only removed from the buffer while the write lock is held, so
+ * after {@link #flush(String)} returned, all documents added before are stored in the database.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class MongoDBBulkWriter {
+    private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+
+    private final Logger logger = LoggerFactory.getLogger(MongoDBBulkWriter.class);
+
+    // guarded by itself
+    private final Map<String, List<Document>> pending = new HashMap<>();
+    private final Lock writeLock = new ReentrantLock();
+    private final Function<String, @Nullable MongoCollection<Document>> collections;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler;
+    private final ScheduledFuture<?> flushJob;
+
+    /**
+     * @param collections resolves the collection with the given name
+     * @param batchSize number of buffered documents of a collection which triggers a write
+     * @param interval maximum time documents are buffered
+     * @param scheduler executes the writes
+     */
+    public MongoDBBulkWriter(Function<String, @Nullable MongoCollection<Document>> collections, int batchSize,
+            Duration interval, ScheduledExecutorService scheduler) {
+        this.collections = collections;
+        this.batchSize = Math.max(batchSize, 1);
+        this.scheduler = scheduler;
+        this.flushJob = scheduler.scheduleWithFixedDelay(this::flush, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds a document to the buffer of a collection.
+     *
+     * @param collectionName name of the collection
+     * @param document the document to store
+     */
+    public void add(String collectionName, Document document) {
+        boolean full;
+        synchronized (pending) {
+            List<Document> documents = pending.computeIfAbsent(collectionName, k -> new ArrayList<>());
+            documents.add(document);
+            full = documents.size() == batchSize;
+        }
+        if (full) {
+            scheduler.execute(() -> flush(collectionName));
+        }
+    }
+
+    /**
+     * Writes the buffered documents of a collection.
+     *
+     * @param collectionName name of the collection
+     */
+    public void flush(String collectionName) {
+        writeLock.lock();
+        try {
+            List<Document> documents;
+            synchronized (pending) {
+                documents = pending.remove(collectionName);
+            }
+            if (documents != null) {
+                write(collectionName, documents);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the buffered documents of all collections.
+     */
+    public void flush() {
+        writeLock.lock();
+        try {
+            Map<String, List<Document>> documents;
+            synchronized (pending) {
+                documents = new HashMap<>(pending);
+                pending.clear();
+            }
+            documents.forEach(this::write);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the periodic writes and writes the buffered documents.
+     */
+    public void close() {
+        flushJob.cancel(false);
+        flush();
+    }
+
+    private void write(String collectionName, List<Document> documents) {
+        MongoCollection<Document> collection = collections.apply(collectionName);
+        if (collection == null) {
+            logger.warn("Discarding {} documents, collection {} is not available", documents.size(), collectionName);
+            return;
+        }
+        try {
+            collection.insertMany(documents, UNORDERED);
+            logger.debug("MongoDB saved {} documents to {}", documents.size(), collectionName);
+        } catch (MongoBulkWriteException e) {
+            logger.warn("Failed to save {} of {} documents to {}: {}", e.getWriteErrors().size(), documents.size(),
+                    collectionName, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to save {} documents to {}: {}", documents.size(), collectionName, e.getMessage());
+        }
+    }
+}
@@ -12,6 +12,7 @@
  */
 package org.openhab.persistence.mongodb.internal;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -19,12 +20,16 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -50,10 +55,15 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.MongoException;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.TimeSeriesGranularity;
+import com.mongodb.client.model.TimeSeriesOptions;
 import com.mongodb.client.result.DeleteResult;
 
 /**
@@ -69,12 +79,18 @@ import com.mongodb.client.result.DeleteResult;
                 + "=org.openhab.mongodb")
 public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
+    private static final int DEFAULT_WRITE_BUFFER_INTERVAL = 1000; // in ms
+
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
     private String url = "";
     private String db = "";
     private String collection = "";
     private boolean collectionPerItem;
+    private boolean timeSeries;
+
+    private final Map<String, MongoCollection<Document>> collections = new ConcurrentHashMap<>();
+    private @Nullable MongoDBBulkWriter bulkWriter;
 
     private boolean initialized = false;
 
@@ -113,6 +129,18 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         collection = dbCollection == null ? "" : dbCollection;
         collectionPerItem = dbCollection == null || dbCollection.isBlank();
 
+        timeSeries = ConfigParser.valueAsOrElse(config.get("timeSeries"), Boolean.class, false);
+        int writeBufferSize = ConfigParser.valueAsOrElse(config.get("writeBufferSize"), Integer.class, 0);
+        int writeBufferInterval = ConfigParser.valueAsOrElse(config.get("writeBufferInterval"), Integer.class,
+                DEFAULT_WRITE_BUFFER_INTERVAL);
+        if (writeBufferSize > 0) {
+            logger.debug("MongoDB write buffer of {} documents, written every {} ms", writeBufferSize,
+                    writeBufferInterval);
+            bulkWriter = new MongoDBBulkWriter(this::getBufferedCollection, writeBufferSize,
+                    Duration.ofMillis(Math.max(writeBufferInterval, 100)),
+                    ThreadPoolManager.getScheduledPool("org.openhab.mongodb"));
+        }
+
         if (!tryConnectToDatabase()) {
             logger.warn("Failed to connect to MongoDB server. Trying to reconnect later.");
         }
@@ -123,6 +151,11 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        MongoDBBulkWriter localBulkWriter = bulkWriter;
+        if (localBulkWriter != null) {
+            localBulkWriter.close();
+            bulkWriter = null;
+        }
         disconnectFromDatabase();
     }
 
@@ -206,11 +239,15 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
     }
 
     /**
-     * Connects to the Collection
+     * Connects to the Collection. Connected collections are cached until the database is disconnected.
      *
      * @return The collection object when collection creation was successful. Null otherwise.
      */
     private @Nullable MongoCollection<Document> connectToCollection(String collectionName) {
+        MongoCollection<Document> cachedCollection = collections.get(collectionName);
+        if (cachedCollection != null) {
+            return cachedCollection;
+        }
         try {
             @Nullable
             MongoClient db = getDatabase();
@@ -220,12 +257,22 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
                 return null;
             }
 
-            MongoCollection<Document> mongoCollection = db.getDatabase(this.db).getCollection(collectionName);
+            MongoDatabase database = db.getDatabase(this.db);
+            if (timeSeries && !database.listCollectionNames().into(new ArrayList<>()).contains(collectionName)) {
+                // time series collections must be created explicitly, existing collections are used as they are
+                database.createCollection(collectionName,
+                        new CreateCollectionOptions().timeSeriesOptions(
+                                new TimeSeriesOptions(MongoDBFields.FIELD_TIMESTAMP).metaField(MongoDBFields.FIELD_ITEM)
+                                        .granularity(TimeSeriesGranularity.SECONDS)));
+                logger.debug("Created time series collection {}", collectionName);
+            }
+            MongoCollection<Document> mongoCollection = database.getCollection(collectionName);
 
             Document idx = new Document();
             idx.append(MongoDBFields.FIELD_ITEM, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1);
             mongoCollection.createIndex(idx);
 
+            collections.put(collectionName, mongoCollection);
             return mongoCollection;
         } catch (Exception e) {
             logger.error("Failed to connect to collection {}: {}", collectionName, e.getMessage(), e);
@@ -233,10 +280,24 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         }
     }
 
+    /**
+     * Resolves a collection for the {@link MongoDBBulkWriter}, reconnecting to the database if necessary.
+     *
+     * @return The collection object or null if the database is not available.
+     */
+    private @Nullable MongoCollection<Document> getBufferedCollection(String collectionName) {
+        if (!tryConnectToDatabase()) {
+            logger.warn("mongodb: No connection to database. Cannot persist to collection '{}'!", collectionName);
+            return null;
+        }
+        return connectToCollection(collectionName);
+    }
+
     /**
      * Disconnects from the database
      */
     private synchronized void disconnectFromDatabase() {
+        collections.clear();
         MongoClient localCl = cl;
         if (localCl != null) {
             localCl.close();
@@ -351,25 +412,29 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
-        // Connect to mongodb server if we're not already connected
-        // If we can't connect, log.
-        if (!tryConnectToDatabase()) {
-            logger.warn(
-                    "mongodb: No connection to database. Cannot persist item '{}'! Will retry connecting to database next time.",
-                    item);
-            return;
-        }
-
         String realItemName = item.getName();
         String name = (alias != null) ? alias : realItemName;
         String collectionName = collectionPerItem ? name : this.collection;
+        MongoDBBulkWriter localBulkWriter = bulkWriter;
 
         @Nullable
-        MongoCollection<Document> collection = connectToCollection(collectionName);
+        MongoCollection<Document> collection = null;
+        if (localBulkWriter == null) {
+            // Connect to mongodb server if we're not already connected
+            // If we can't connect, log.
+            if (!tryConnectToDatabase()) {
+                logger.warn(
+                        "mongodb: No connection to database. Cannot persist item '{}'! Will retry connecting to database next time.",
+                        item);
+                return;
+            }
 
-        if (collection == null) {
-            // Logging is done in connectToCollection()
-            return;
+            collection = connectToCollection(collectionName);
+
+            if (collection == null) {
+                // Logging is done in connectToCollection()
+                return;
+            }
         }
 
         Object value = MongoDBTypeConversions.convertValue(state);
@@ -383,6 +448,12 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         if (item instanceof NumberItem && state instanceof QuantityType<?>) {
             obj.put(MongoDBFields.FIELD_UNIT, ((QuantityType<?>) state).getUnit().toString());
         }
+        if (collection == null) {
+            // written by the bulk writer
+            Objects.requireNonNull(localBulkWriter).add(collectionName, obj);
+            logger.trace("MongoDB buffered {}={}", name, value);
+            return;
+        }
         try {
             collection.insertOne(obj);
         } catch (org.bson.BsonMaximumSizeExceededException e) {
@@ -412,6 +483,11 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
     @Nullable
     private MongoCollection<Document> getCollection(String realItemName) {
         String collectionName = collectionPerItem ? realItemName : this.collection;
+        MongoDBBulkWriter localBulkWriter = bulkWriter;
+        if (localBulkWriter != null) {
+            // make buffered documents visible to queries
+            localBulkWriter.flush(collectionName);
+        }
         @Nullable
         MongoCollection<Document> collection = connectToCollection(collectionName);
 
@@ -486,7 +562,20 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
         logger.debug("Query: {}", query);
 
-        DeleteResult result = collection.deleteMany(query);
+        DeleteResult result;
+        try {
+            result = collection.deleteMany(query);
+        } catch (MongoException e) {
+            if (timeSeries) {
+                // before MongoDB 7.0, documents of time series collections can only be deleted by their meta field
+                logger.warn(
+                        "Failed to remove values of item {} from time series collection {}: {}. Removing values by time requires MongoDB 7.0 or newer.",
+                        filter.getItemName(), collection.getNamespace().getCollectionName(), e.getMessage());
+            } else {
+                logger.error("Failed to remove values of item {}: {}", filter.getItemName(), e.getMessage(), e);
+            }
+            return false;
+        }
 
         logger.debug("Deleted {} documents", result.getDeletedCount());
         return true;
@@ -471,6 +471,52 @@ public class MongoDBPersistenceServiceTest {
         }
     }
 
+    /**
+     * Tests the write buffer of MongoDBPersistenceService.
+     *
+     * This test checks if buffered values are not written before the buffer is full or a query is made, and if
+     * all buffered values are returned by the query.
+     *
+     * @param dbContainer The container running the MongoDB instance.
+     */
+    @ParameterizedTest
+    @MethodSource("org.openhab.persistence.mongodb.internal.DataCreationHelper#provideDatabaseBackends")
+    public void testQueryBufferedNumberItemsInOneCollection(DatabaseTestContainer dbContainer) {
+        try {
+            // Preparation
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testCollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            setupResult.config.put("writeBufferSize", "100");
+            setupResult.config.put("writeBufferInterval", "60000");
+
+            NumberItem itemReg1 = DataCreationHelper.createNumberItem("TestItem", 0);
+            try {
+                Mockito.when(setupResult.itemRegistry.getItem("TestItem")).thenReturn(itemReg1);
+            } catch (ItemNotFoundException e) {
+            }
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+
+            // Store some items
+            for (int i = 0; i < 10; i++) {
+                service.store(DataCreationHelper.createNumberItem("TestItem", i), null);
+            }
+            long bufferedCount = setupResult.database.getCollection("testCollection").countDocuments();
+
+            // Execution
+            FilterCriteria filter = DataCreationHelper.createFilterCriteria("TestItem");
+            Iterable<HistoricItem> result = service.query(filter);
+
+            // Verification
+            assertEquals(0, bufferedCount);
+            VerificationHelper.verifyQueryResult(result, 0, 1, 10);
+            assertEquals(10, setupResult.database.getCollection("testCollection").countDocuments());
+            service.deactivate(1);
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
     /**
      * Tests the query method of MongoDBPersistenceService with NumberItems in multiple collections.
      *
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+import org.rrd4j.core.RrdDb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps recently written {@link RrdDb}s open, so a database is not opened and closed for every stored value.
+ *
+ * At most <code>maxOpen</code> databases are kept open: before a database is opened, the least recently used one is
+ * closed. Databases that have not been used for <code>maxIdle</code> are closed by {@link #evict()}.
+ *
+ * Each database is guarded by one of a fixed number of locks, so different databases can be written in parallel. The
+ * lock returned by {@link #getLock(String)} must be held while a cached database is used.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jDatabaseCache {
+    private static final int LOCK_STRIPES = 64;
+
+    private final Logger logger = LoggerFactory.getLogger(RRD4jDatabaseCache.class);
+
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+    // access ordered, guarded by itself
+    private final Map<String, Entry> databases = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxOpen;
+    private final long maxIdle;
+
+    /**
+     * @param maxOpen maximum number of open databases
+     * @param maxIdle time after which an unused database is closed
+     */
+    public RRD4jDatabaseCache(int maxOpen, Duration maxIdle) {
+        this.maxOpen = maxOpen;
+        this.maxIdle = maxIdle.toMillis();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * @return the lock guarding the database with the given name
+     */
+    public Lock getLock(String name) {
+        return locks[Math.floorMod(name.hashCode(), LOCK_STRIPES)];
+    }
+
+    /**
+     * Returns the cached database, or opens and caches it. The caller must hold the lock of the database.
+     *
+     * @param name name of the database
+     * @param opener opens the database, returns <code>null</code> if it does not exist
+     * @return the cached database or <code>null</code> if it could not be opened
+     * @throws IOException if the database could not be read
+     */
+    public @Nullable Entry get(String name, Supplier<@Nullable RrdDb> opener) throws IOException {
+        Entry entry;
+        synchronized (databases) {
+            entry = databases.get(name);
+        }
+        if (entry == null) {
+            // make room first, opening a database blocks while the pool is full
+            reduceTo(maxOpen - 1);
+            RrdDb db = opener.get();
+            if (db == null) {
+                return null;
+            }
+            try {
+                entry = new Entry(db);
+            } catch (IOException e) {
+                close(name, db);
+                throw e;
+            }
+            synchronized (databases) {
+                databases.put(name, entry);
+            }
+        }
+        entry.lastUsed = System.currentTimeMillis();
+        return entry;
+    }
+
+    /**
+     * Closes the least recently used databases exceeding the maximum number of open databases, which can only happen
+     * if they were in use when another database was opened, and all databases that have been idle for too long.
+     */
+    public void evict() {
+        long idleSince = System.currentTimeMillis() - maxIdle;
+        List<String> names = new ArrayList<>();
+        synchronized (databases) {
+            int excess = databases.size() - maxOpen;
+            for (Map.Entry<String, Entry> entry : databases.entrySet()) {
+                if (excess-- > 0 || entry.getValue().lastUsed < idleSince) {
+                    names.add(entry.getKey());
+                }
+            }
+        }
+        names.forEach(this::close);
+    }
+
+    /**
+     * Closes the database with the given name if it is cached.
+     */
+    public void close(String name) {
+        Lock lock = getLock(name);
+        lock.lock();
+        try {
+            remove(name);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes all cached databases.
+     */
+    public void closeAll() {
+        List<String> names;
+        synchronized (databases) {
+            names = new ArrayList<>(databases.keySet());
+        }
+        names.forEach(this::close);
+    }
+
+    /**
+     * @return the number of open databases
+     */
+    public int size() {
+        synchronized (databases) {
+            return databases.size();
+        }
+    }
+
+    /**
+     * Closes the least recently used databases until at most <code>limit</code> databases are open. Databases whose
+     * lock is held by another thread are in use and skipped, waiting for their lock could deadlock.
+     */
+    private void reduceTo(int limit) {
+        List<String> names;
+        synchronized (databases) {
+            if (databases.size() <= limit) {
+                return;
+            }
+            names = new ArrayList<>(databases.keySet());
+        }
+        int excess = names.size() - limit;
+        for (int i = 0; i < names.size() && excess > 0; i++) {
+            String name = names.get(i);
+            Lock lock = getLock(name);
+            if (lock.tryLock()) {
+                try {
+                    if (remove(name)) {
+                        excess--;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes and closes a cached database. The caller must hold the lock of the database.
+     *
+     * @return <code>true</code> if the database was cached
+     */
+    private boolean remove(String name) {
+        Entry entry;
+        synchronized (databases) {
+            entry = databases.remove(name);
+        }
+        if (entry == null) {
+            return false;
+        }
+        close(name, entry.db);
+        return true;
+    }
+
+    private void close(String name, RrdDb db) {
+        try {
+            db.close();
+            logger.trace("Closed rrd4j database '{}'", name);
+        } catch (IOException e) {
+            logger.debug("Error closing rrd4j database '{}': {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * An open database with the properties needed for storing values. They are read once when the database is opened
+     * and the last update is tracked by {@link #updated(long, double)}, as all values are written through the cache.
+     */
+    public static class Entry {
+        private final RrdDb db;
+        private final ConsolFun consolFun;
+        private final DsType dsType;
+        private final long step;
+        private long lastUpdateTime;
+        private double lastValue;
+        private volatile long lastUsed;
+
+        private Entry(RrdDb db) throws IOException {
+            this.db = db;
+            this.consolFun = db.getArchive(0).getConsolFun();
+            this.dsType = db.getDatasource(0).getType();
+            this.step = db.getHeader().getStep();
+            this.lastUpdateTime = db.getLastUpdateTime();
+            this.lastValue = db.getDatasource(0).getLastValue();
+        }
+
+        public RrdDb getDb() {
+            return db;
+        }
+
+        public ConsolFun getConsolFun() {
+            return consolFun;
+        }
+
+        public DsType getDsType() {
+            return dsType;
+        }
+
+        public long getStep() {
+            return step;
+        }
+
+        public long getLastUpdateTime() {
+            return lastUpdateTime;
+        }
+
+        public double getLastValue() {
+            return lastValue;
+        }
+
+        /**
+         * Records a successful update of the database.
+         *
+         * @param time timestamp of the update in seconds
+         * @param value the stored value
+         */
+        public void updated(long time, double value) {
+            lastUpdateTime = time;
+            lastValue = value;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -34,6 +35,7 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 import java.util.function.DoubleFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -84,10 +86,13 @@ import org.rrd4j.DsType;
 import org.rrd4j.core.Archive;
 import org.rrd4j.core.FetchData;
 import org.rrd4j.core.FetchRequest;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDb.Builder;
 import org.rrd4j.core.RrdDbPool;
 import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdNioBackendFactory;
+import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
 import org.rrd4j.core.Sample;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -117,6 +122,9 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
+    private record Point(long timestamp, double value) {
+    }
+
     public static final String SERVICE_ID = "rrd4j";
 
     private static final String DEFAULT_OTHER = "default_other";
@@ -135,10 +143,24 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private static final String DATASOURCE_STATE = "state";
 
+    private static final String BACKEND_CONFIG = "backend";
+    private static final String SYNC_PERIOD_CONFIG = "syncPeriod";
+    private static final String BACKEND_NIO = "nio";
+    private static final String BACKEND_FILE = "file";
+    private static final int DEFAULT_SYNC_PERIOD = 300; // in s
+
     private static final Path DB_FOLDER = Path.of(OpenHAB.getUserDataFolder(), "persistence", "rrd4j").toAbsolutePath();
 
     private static final RrdDbPool DATABASE_POOL = new RrdDbPool();
 
+    private static volatile @Nullable RrdBackendFactory backendFactory;
+
+    // enforced by the cache before it opens a database, so half of the pool capacity (200) is left for queries
+    private static final int MAX_OPEN_DATABASES = 100;
+    private static final Duration MAX_IDLE_DATABASE = Duration.ofMinutes(5);
+
+    private final RRD4jDatabaseCache databaseCache = new RRD4jDatabaseCache(MAX_OPEN_DATABASES, MAX_IDLE_DATABASE);
+
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
     private final ItemRegistry itemRegistry;
     private boolean active = false;
@@ -151,6 +173,13 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return DATABASE_POOL;
     }
 
+    /**
+     * @return the configured backend factory, or <code>null</code> to use the default of rrd4j
+     */
+    public static @Nullable RrdBackendFactory getBackendFactory() {
+        return backendFactory;
+    }
+
     private final ScheduledFuture<?> storeJob;
 
     @Activate
@@ -163,6 +192,8 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     @Modified
     protected void modified(final Map<String, Object> config) {
+        configureBackend(config);
+
         // clean existing definitions
         rrdDefs.clear();
 
@@ -214,8 +245,9 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         while (keys.hasNext()) {
             String key = keys.next();
 
-            if ("service.pid".equals(key) || "component.name".equals(key)) {
-                // ignore service.pid and name
+            if ("service.pid".equals(key) || "component.name".equals(key) || BACKEND_CONFIG.equals(key)
+                    || SYNC_PERIOD_CONFIG.equals(key)) {
+                // ignore service.pid and name, backend options have already been processed
                 continue;
             }
 
@@ -269,6 +301,40 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
+    private void configureBackend(final Map<String, Object> config) {
+        Object backend = config.get(BACKEND_CONFIG);
+        Object syncPeriodConfig = config.get(SYNC_PERIOD_CONFIG);
+        int syncPeriod = DEFAULT_SYNC_PERIOD;
+        if (syncPeriodConfig != null) {
+            try {
+                syncPeriod = Integer.parseInt(syncPeriodConfig.toString().trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring illegal sync period '{}'", syncPeriodConfig);
+            }
+            if (syncPeriod < 1) {
+                logger.warn("Sync period must be at least 1 second, using {}", DEFAULT_SYNC_PERIOD);
+                syncPeriod = DEFAULT_SYNC_PERIOD;
+            }
+        }
+
+        RrdBackendFactory factory;
+        if (backend == null || backend.toString().isBlank()) {
+            factory = null;
+        } else if (BACKEND_NIO.equalsIgnoreCase(backend.toString().trim())) {
+            // memory-mapped files, changes are written to disk every sync period and when a database is closed
+            factory = new RrdNioBackendFactory(syncPeriod, scheduler);
+        } else if (BACKEND_FILE.equalsIgnoreCase(backend.toString().trim())) {
+            factory = new RrdRandomAccessFileBackendFactory();
+        } else {
+            logger.warn("Unknown backend '{}', using the default backend", backend);
+            factory = null;
+        }
+        // databases opened with the previous backend are closed, so they are reopened with the new one
+        databaseCache.closeAll();
+        backendFactory = factory;
+        logger.debug("Using rrd4j backend {}", factory != null ? factory.getClass().getSimpleName() : "default");
+    }
+
     @Deactivate
     protected void deactivate() {
         active = false;
@@ -276,6 +342,7 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
         // make sure we really store everything
         doStore(true);
+        databaseCache.closeAll();
     }
 
     @Override
@@ -343,43 +410,61 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private void doStore(boolean force) {
         long now = System.currentTimeMillis() / 1000;
-        while (!storageMap.isEmpty()) {
-            Key key = storageMap.firstKey();
-            if (now > key.timestamp || force) {
-                // no new elements can be added for this timestamp because we are already past that time or the service
+        // collect the values of all elapsed seconds, so each database is written once per pass
+        Map<String, List<Point>> points = new LinkedHashMap<>();
+        while (true) {
+            Map.Entry<Key, Double> first = storageMap.firstEntry();
+            if (first == null || (now <= first.getKey().timestamp && !force)) {
+                // new elements can still be added for this timestamp unless we are past that time or the service
                 // requires forced storing
-                Double value = storageMap.pollFirstEntry().getValue();
-                writePointToDatabase(key.name, value, key.timestamp);
-            } else {
-                return;
+                break;
             }
+            Map.Entry<Key, Double> entry = storageMap.pollFirstEntry();
+            if (entry == null) {
+                break;
+            }
+            Key key = entry.getKey();
+            points.computeIfAbsent(key.name, k -> new ArrayList<>()).add(new Point(key.timestamp, entry.getValue()));
         }
+        points.forEach(this::writePointsToDatabase);
+        databaseCache.evict();
     }
 
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
-        RrdDb db = null;
+    private void writePointsToDatabase(String name, List<Point> points) {
+        Lock lock = databaseCache.getLock(name);
+        lock.lock();
         try {
-            db = getDB(name, true);
-        } catch (Exception e) {
-            logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
-        }
-        if (db == null) {
-            return;
+            RRD4jDatabaseCache.Entry entry = null;
+            try {
+                entry = databaseCache.get(name, () -> getDB(name, true));
+            } catch (Exception e) {
+                logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
+            }
+            if (entry != null) {
+                for (Point point : points) {
+                    writePointToDatabase(name, entry, point.value, point.timestamp);
+                }
+            }
+        } finally {
+            lock.unlock();
         }
+    }
 
-        ConsolFun function = getConsolidationFunction(db);
-        if (function != ConsolFun.AVERAGE) {
+    private void writePointToDatabase(String name, RRD4jDatabaseCache.Entry entry, double value, long timestamp) {
+        RrdDb db = entry.getDb();
+        if (entry.getConsolFun() != ConsolFun.AVERAGE) {
             try {
                 // we store the last value again, so that the value change
                 // in the database is not interpolated, but
                 // happens right at this spot
-                if (timestamp - 1 > db.getLastUpdateTime()) {
+                if (timestamp - 1 > entry.getLastUpdateTime()) {
                     // only do it if there is not already a value
-                    double lastValue = db.getLastDatasourceValue(DATASOURCE_STATE);
+                    double lastValue = entry.getLastValue();
                     if (!Double.isNaN(lastValue) && lastValue != value) {
                         Sample sample = db.createSample(timestamp - 1);
                         sample.setValue(DATASOURCE_STATE, lastValue);
                         sample.update();
+                        entry.updated(timestamp - 1, lastValue);
                         logger.debug("Stored '{}' as value '{}' with timestamp {} in rrd4j database (again)", name,
                                 lastValue, timestamp - 1);
                     }
@@ -391,21 +476,17 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         try {
             Sample sample = db.createSample(timestamp);
             double storeValue = value;
-            if (db.getDatasource(DATASOURCE_STATE).getType() == DsType.COUNTER) {
+            if (entry.getDsType() == DsType.COUNTER) {
                 // counter values must be adjusted by stepsize
-                storeValue = value * db.getHeader().getStep();
+                storeValue = value * entry.getStep();
             }
             sample.setValue(DATASOURCE_STATE, storeValue);
             sample.update();
+            entry.updated(timestamp, storeValue);
             logger.debug("Stored '{}' as value '{}' with timestamp {} in rrd4j database", name, storeValue, timestamp);
         } catch (Exception e) {
             logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
         }
-        try {
-            db.close();
-        } catch (IOException e) {
-            logger.debug("Error closing rrd4j database: {}", e.getMessage());
-        }
     }
 
     @Override
@@ -706,6 +787,10 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         try {
             Builder builder = RrdDb.getBuilder();
             builder.setPool(DATABASE_POOL);
+            RrdBackendFactory factory = backendFactory;
+            if (factory != null) {
+                builder.setBackendFactory(factory);
+            }
 
             if (Files.exists(path)) {
                 // recreate the RrdDb instance from the file
@@ -824,6 +909,15 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return SUPPORTED_TYPES.contains(ItemUtil.getMainItemType(item.getType()));
     }
 
+    /**
+     * Closes the database of the given item if it is kept open for writing, e.g. before its file is deleted.
+     *
+     * @param name name of the item or alias
+     */
+    public void closeDatabase(String name) {
+        databaseCache.close(name);
+    }
+
     public List<String> getRrdFiles() {
         try (Stream<Path> stream = Files.list(DB_FOLDER)) {
             return stream.filter(file -> !Files.isDirectory(file) && file.toFile().getName().endsWith(".rrd"))
@@ -50,6 +50,7 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.http.HttpService;
 import org.osgi.service.http.NamespaceException;
 import org.rrd4j.ConsolFun;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDb.Builder;
 import org.rrd4j.graph.RrdGraph;
@@ -195,6 +196,10 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
         try {
             Builder builder = RrdDb.getBuilder();
             builder.setPool(RRD4jPersistenceService.getDatabasePool());
+            RrdBackendFactory backendFactory = RRD4jPersistenceService.getBackendFactory();
+            if (backendFactory != null) {
+                builder.setBackendFactory(backendFactory);
+            }
             builder.setPath(rrdName);
 
             RrdDb db = builder.build();
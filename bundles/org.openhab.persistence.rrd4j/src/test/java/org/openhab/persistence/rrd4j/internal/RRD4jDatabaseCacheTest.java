@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.locks.Lock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDbPool;
+import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.Sample;
+
+/**
+ * Tests the {@link RRD4jDatabaseCache} with a real {@link RrdDbPool}.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jDatabaseCacheTest {
+    private static final int MAX_OPEN = 10;
+    private static final long START = 1_700_000_000L; // in s
+    private static final long STEP = 60; // in s
+
+    private @TempDir @NonNullByDefault({}) Path folder;
+
+    private final RrdDbPool pool = new RrdDbPool();
+    private final RRD4jDatabaseCache cache = new RRD4jDatabaseCache(MAX_OPEN, Duration.ofMinutes(5));
+
+    @AfterEach
+    public void after() {
+        cache.closeAll();
+    }
+
+    private RrdDb open(String name) {
+        Path path = folder.resolve(name + ".rrd");
+        try {
+            RrdDb.Builder builder = RrdDb.getBuilder().setPool(pool);
+            if (Files.exists(path)) {
+                builder.setPath(path.toString());
+            } else {
+                RrdDef rrdDef = new RrdDef(path.toString(), START, STEP);
+                rrdDef.addDatasource("state", DsType.GAUGE, 2 * STEP, Double.NaN, Double.NaN);
+                rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 1, 10);
+                builder.setRrdDef(rrdDef);
+            }
+            return builder.build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // writes one value to each database like a store pass of the service
+    private void writePass(int databases, long time) throws IOException {
+        for (int i = 0; i < databases; i++) {
+            String name = "item" + i;
+            Lock lock = cache.getLock(name);
+            lock.lock();
+            try {
+                RRD4jDatabaseCache.Entry entry = cache.get(name, () -> open(name));
+                assertThat(entry, is(notNullValue()));
+                Sample sample = entry.getDb().createSample(time);
+                sample.setValue(0, i);
+                sample.update();
+                entry.updated(time, i);
+            } finally {
+                lock.unlock();
+            }
+            assertThat(cache.size(), is(lessThanOrEqualTo(MAX_OPEN)));
+        }
+    }
+
+    @Test
+    public void passWithMoreDatabasesThanPoolCapacityDoesNotBlock() {
+        int databases = pool.getCapacity() + 50;
+
+        // the pool blocks forever when a database is opened while it is full
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            writePass(databases, START + STEP);
+            writePass(databases, START + 2 * STEP);
+        });
+
+        assertThat(cache.size(), is(MAX_OPEN));
+        assertThat(pool.getOpenFiles().length, is(MAX_OPEN));
+        cache.closeAll();
+        assertThat(pool.getOpenFiles().length, is(0));
+    }
+
+    @Test
+    public void databaseInUseByAnotherThreadIsNotClosed() throws Exception {
+        writePass(MAX_OPEN, START + STEP);
+
+        // item0 is the least recently used database
+        Thread user = new Thread(() -> {
+            Lock lock = cache.getLock("item0");
+            lock.lock();
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        user.start();
+        Thread.sleep(200);
+
+        // the name must not share the lock of item0
+        String name = "other";
+        for (int i = 0; cache.getLock(name) == cache.getLock("item0"); i++) {
+            name = "other" + i;
+        }
+        String newName = name;
+        Lock lock = cache.getLock(newName);
+        lock.lock();
+        try {
+            assertThat(cache.get(newName, () -> open(newName)), is(notNullValue()));
+        } finally {
+            lock.unlock();
+        }
+        user.join();
+
+        assertThat(cache.size(), is(MAX_OPEN));
+        Lock item0Lock = cache.getLock("item0");
+        item0Lock.lock();
+        try {
+            // still cached, so the supplier is not called
+            assertThat(cache.get("item0", () -> {
+                throw new IllegalStateException("item0 was closed");
+            }), is(notNullValue()));
+        } finally {
+            item0Lock.unlock();
+        }
+    }
+}
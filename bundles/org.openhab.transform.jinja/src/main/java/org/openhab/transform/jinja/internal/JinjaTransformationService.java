@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -31,12 +32,20 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.Context;
 import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.InterpretException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.tree.Node;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by Jinja2 Expressions.
  *
+ * Parsed templates are cached, and the value is only parsed as JSON if the template uses <code>value_json</code>.
+ *
  * @author Jochen Klein - Initial contribution
  *
  */
@@ -46,7 +55,11 @@ public class JinjaTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(JinjaTransformationService.class);
 
+    private static final int MAX_CACHED_TEMPLATES = 1000;
+
     private final Jinjava jinjava = new Jinjava();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, ParsedTemplate> parsedTemplates = new LRUMap<>(MAX_CACHED_TEMPLATES);
 
     /**
      * Transforms the input <code>value</code> by Jinja template.
@@ -64,15 +77,19 @@ public class JinjaTransformationService implements TransformationService {
 
         bindings.put("value", value);
 
-        try {
-            JsonNode tree = new ObjectMapper().readTree(value);
-            bindings.put("value_json", toObject(tree));
-        } catch (IOException e) {
-            // ok, then value_json is null...
+        ParsedTemplate parsedTemplate = parse(template);
+        if (parsedTemplate == null || parsedTemplate.usesValueJson()) {
+            try {
+                JsonNode tree = objectMapper.readTree(value);
+                bindings.put("value_json", toObject(tree));
+            } catch (IOException e) {
+                // ok, then value_json is null...
+            }
         }
 
         try {
-            transformationResult = jinjava.render(template, bindings);
+            transformationResult = parsedTemplate != null ? render(parsedTemplate, template, bindings)
+                    : jinjava.render(template, bindings);
         } catch (FatalTemplateErrorsException e) {
             throw new TransformationException("An error occurred while transformation. " + e.getMessage(), e);
         }
@@ -82,6 +99,77 @@ public class JinjaTransformationService implements TransformationService {
         return transformationResult;
     }
 
+    /**
+     * Parses a template, or returns it from the cache.
+     *
+     * @param template Jinja template
+     * @return the parsed template, or <code>null</code> if it has errors, which are reported by rendering it uncached
+     */
+    private @Nullable ParsedTemplate parse(String template) {
+        synchronized (parsedTemplates) {
+            ParsedTemplate parsedTemplate = parsedTemplates.get(template);
+            if (parsedTemplate != null) {
+                return parsedTemplate;
+            }
+        }
+
+        JinjavaInterpreter interpreter = newInterpreter(Map.of());
+        JinjavaInterpreter.pushCurrent(interpreter);
+        Node root;
+        try {
+            root = interpreter.parse(template);
+        } catch (InterpretException e) {
+            return null;
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
+        if (!interpreter.getErrors().isEmpty()) {
+            return null;
+        }
+
+        ParsedTemplate parsedTemplate = new ParsedTemplate(root, template.contains("value_json"));
+        synchronized (parsedTemplates) {
+            parsedTemplates.put(template, parsedTemplate);
+        }
+        return parsedTemplate;
+    }
+
+    /**
+     * Renders a parsed template like {@link Jinjava#render(String, Map)}.
+     *
+     * @throws FatalTemplateErrorsException if rendering fails
+     */
+    private String render(ParsedTemplate parsedTemplate, String template, Map<String, @Nullable Object> bindings) {
+        // interpreters hold the state of a single rendering, the node tree can be shared
+        JinjavaInterpreter interpreter = newInterpreter(bindings);
+        JinjavaInterpreter.pushCurrent(interpreter);
+        String result;
+        try {
+            result = interpreter.render(parsedTemplate.root());
+        } catch (InterpretException e) {
+            result = null;
+        } finally {
+            jinjava.getGlobalContext().reset();
+            JinjavaInterpreter.popCurrent();
+        }
+        if (result == null) {
+            // let Jinjava report the error as for an uncached template
+            return jinjava.render(template, bindings);
+        }
+
+        List<TemplateError> fatalErrors = interpreter.getErrors().stream()
+                .filter(error -> error.getSeverity() == ErrorType.FATAL).toList();
+        if (!fatalErrors.isEmpty()) {
+            throw new FatalTemplateErrorsException(template, fatalErrors);
+        }
+        return result;
+    }
+
+    private JinjavaInterpreter newInterpreter(Map<String, @Nullable Object> bindings) {
+        return new JinjavaInterpreter(jinjava, new Context(jinjava.getGlobalContext(), bindings),
+                jinjava.getGlobalConfig());
+    }
+
     private static @Nullable Object toObject(JsonNode node) {
         switch (node.getNodeType()) {
             case ARRAY: {
@@ -111,4 +199,26 @@ public class JinjaTransformationService implements TransformationService {
                 return null;
         }
     }
+
+    /**
+     * @param root the node tree of the template
+     * @param usesValueJson whether the template references <code>value_json</code>
+     */
+    private record ParsedTemplate(Node root, boolean usesValueJson) {
+    }
+
+    private static class LRUMap<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+        private final int maxEntries;
+
+        public LRUMap(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<K, V> eldest) {
+            return size() > maxEntries;
+        }
+    }
 }
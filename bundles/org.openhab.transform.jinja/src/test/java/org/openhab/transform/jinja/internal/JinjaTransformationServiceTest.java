@@ -113,4 +113,22 @@ public class JinjaTransformationServiceTest {
         // then map key is defined
         assertEquals("true", transformedResponse);
     }
+
+    @Test
+    public void testSameTemplateWithDifferentValues() throws TransformationException {
+        String template = "{{ value_json.temperature | round(1) }} {{ value_json.unit }}";
+
+        assertEquals("21.5 C", processor.transform(template, "{\"temperature\": 21.46, \"unit\": \"C\"}"));
+        assertEquals("70.2 F", processor.transform(template, "{\"temperature\": 70.18, \"unit\": \"F\"}"));
+        assertEquals("Hello world!", processor.transform("Hello {{ value }}!", "world"));
+        assertEquals("Hello {}!", processor.transform("Hello {{ value }}!", "{}"));
+    }
+
+    @Test
+    public void testRepeatedTemplateError() {
+        assertThrows(TransformationException.class,
+                () -> processor.transform("Hello {{{ value_json.string }}!", "{\"string\": \"world\"}"));
+        assertThrows(TransformationException.class,
+                () -> processor.transform("Hello {{{ value_json.string }}!", "{\"string\": \"world\"}"));
+    }
 }
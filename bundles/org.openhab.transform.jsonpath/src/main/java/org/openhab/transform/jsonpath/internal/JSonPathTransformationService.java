@@ -13,6 +13,7 @@
 package org.openhab.transform.jsonpath.internal;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,6 +25,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -41,6 +43,10 @@ public class JSonPathTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    // Several channels usually extract different values from the same message, so the last document is kept to parse
+    // it only once. The document is only read, never modified.
+    private final AtomicReference<@Nullable ParsedSource> lastSource = new AtomicReference<>();
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -62,7 +68,8 @@ public class JSonPathTransformationService implements TransformationService {
             return null;
         }
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            // the compiled path is cached by JsonPath itself, see com.jayway.jsonpath.spi.cache.CacheProvider
+            Object transformationResult = parse(source).read(jsonPathExpression);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -78,6 +85,19 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private DocumentContext parse(String source) {
+        ParsedSource last = lastSource.get();
+        if (last != null && (last.source() == source || last.source().equals(source))) {
+            return last.document();
+        }
+        DocumentContext document = JsonPath.parse(source);
+        lastSource.set(new ParsedSource(source, document));
+        return document;
+    }
+
+    private record ParsedSource(String source, DocumentContext document) {
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -59,6 +59,23 @@ public class JSonPathTransformationServiceTest {
         assertEquals("2", transformedResponse);
     }
 
+    @Test
+    public void testSameSourceWithDifferentPaths() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+        assertEquals("alice", processor.transform("$[1].name", new String(JSON_ARRAY)));
+        assertEquals("carol", processor.transform("$[0].name", "[{ \"name\":\"carol\" }]"));
+        assertEquals("1", processor.transform("$[0].id", JSON_ARRAY));
+    }
+
+    @Test
+    public void testSamePathWithDifferentSources() throws TransformationException {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(String.valueOf(i), processor.transform("$.id", "{ \"id\":" + i + " }"));
+        }
+        assertThrows(TransformationException.class, () -> processor.transform("$$", JSON_ARRAY));
+        assertThrows(TransformationException.class, () -> processor.transform("$$", JSON_ARRAY));
+    }
+
     @Test
     public void testInvalidPathThrowsException() {
         assertThrows(TransformationException.class, () -> processor.transform("$$", JSON_ARRAY));
@@ -12,6 +12,8 @@
  */
 package org.openhab.transform.regex.internal;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -20,6 +22,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,6 +33,9 @@ import org.slf4j.LoggerFactory;
  * <p>
  * <b>Note:</b> the given Regular Expression must contain exactly one group!
  *
+ * <p>
+ * Compiled expressions are cached, so each value is matched without compiling or parsing the expression again.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
@@ -40,6 +46,12 @@ public class RegExTransformationService implements TransformationService {
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
 
+    private static final int MAX_CACHED_EXPRESSIONS = 1000;
+
+    private final Map<String, CompiledRegEx> compiledExpressions = new LRUMap<>(MAX_CACHED_EXPRESSIONS);
+    private long cacheHits;
+    private long cacheMisses;
+
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
         if (regExpression == null || source == null) {
@@ -48,50 +60,105 @@ public class RegExTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, regExpression);
 
-        String result = "";
+        CompiledRegEx compiled = compile(regExpression);
+        Matcher matcher = compiled.pattern().matcher(source.trim());
 
-        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
-        if (substMatcher.matches()) {
+        String substitution = compiled.substitution();
+        if (substitution != null) {
             logger.debug("Using substitution form of regex transformation");
-            String regex = substMatcher.group(1);
-            String substitution = substMatcher.group(2);
-            String options = substMatcher.group(3);
-            if ("g".equals(options)) {
-                result = source.trim().replaceAll(regex, substitution);
-            } else {
-                result = source.trim().replaceFirst(regex, substitution);
-            }
-            if (result != null) {
-                return result;
-            }
+            return compiled.global() ? matcher.replaceAll(substitution) : matcher.replaceFirst(substitution);
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
                     regExpression, source);
             return null;
         }
-        matcher.reset();
-
-        while (matcher.find()) {
-            if (matcher.groupCount() == 0) {
-                logger.info(
-                        "the given regular expression '^{}$' doesn't contain a group. No content will be extracted and returned!",
-                        regExpression);
-                continue;
-            }
 
-            result = matcher.group(1);
+        if (matcher.groupCount() == 0) {
+            logger.info(
+                    "the given regular expression '^{}$' doesn't contain a group. No content will be extracted and returned!",
+                    regExpression);
+            return "";
+        }
 
-            if (matcher.groupCount() > 1) {
-                logger.debug(
-                        "the given regular expression '^{}$' contains more than one group. Only the first group will be returned!",
-                        regExpression);
+        if (matcher.groupCount() > 1) {
+            logger.debug(
+                    "the given regular expression '^{}$' contains more than one group. Only the first group will be returned!",
+                    regExpression);
+        }
+
+        return matcher.group(1);
+    }
+
+    @Deactivate
+    public void deactivate() {
+        logger.debug("Cache of compiled expressions: {}", getCacheStatistics());
+    }
+
+    /**
+     * @return statistics of the cache of compiled expressions
+     */
+    CacheStatistics getCacheStatistics() {
+        synchronized (compiledExpressions) {
+            return new CacheStatistics(compiledExpressions.size(), cacheHits, cacheMisses);
+        }
+    }
+
+    private CompiledRegEx compile(String regExpression) {
+        synchronized (compiledExpressions) {
+            CompiledRegEx compiled = compiledExpressions.get(regExpression);
+            if (compiled != null) {
+                cacheHits++;
+                return compiled;
             }
+            cacheMisses++;
         }
 
-        return result;
+        CompiledRegEx compiled;
+        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
+        if (substMatcher.matches()) {
+            compiled = new CompiledRegEx(Pattern.compile(substMatcher.group(1)), substMatcher.group(2),
+                    "g".equals(substMatcher.group(3)));
+        } else {
+            compiled = new CompiledRegEx(Pattern.compile("^" + regExpression + "$", Pattern.DOTALL), null, false);
+        }
+
+        synchronized (compiledExpressions) {
+            compiledExpressions.put(regExpression, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * @param size number of cached expressions
+     * @param hits number of transformations with a cached expression
+     * @param misses number of transformations that had to compile the expression
+     */
+    record CacheStatistics(int size, long hits, long misses) {
+    }
+
+    /**
+     * @param pattern the compiled regular expression
+     * @param substitution the replacement of the substitution form, or <code>null</code> for the matching form
+     * @param global whether all matches are replaced
+     */
+    private record CompiledRegEx(Pattern pattern, @Nullable String substitution, boolean global) {
+    }
+
+    private static class LRUMap<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+        private final int maxEntries;
+
+        public LRUMap(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<K, V> eldest) {
+            return size() > maxEntries;
+        }
     }
 }
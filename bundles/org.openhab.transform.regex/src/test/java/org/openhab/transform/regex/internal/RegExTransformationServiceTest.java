@@ -75,4 +75,15 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_cachedExpression() throws TransformationException {
+        assertEquals("12", processor.transform("T=(\\d+)", "T=12"));
+        assertEquals("13", processor.transform("T=(\\d+)", "T=13"));
+        assertNull(processor.transform("T=(\\d+)", "H=14"));
+        assertEquals("A_B", processor.transform("s/-/_/", "A-B"));
+        assertEquals("C_D", processor.transform("s/-/_/", "C-D"));
+
+        assertEquals(new RegExTransformationService.CacheStatistics(2, 3, 2), processor.getCacheStatistics());
+    }
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Immutable index of ranges, which finds the first range in the given order containing a value in O(log n).
+ *
+ * The bounds of all ranges split the numbers into segments: the bounds themselves and the open intervals between
+ * them. No range starts or ends inside a segment, so the first matching range is computed for each segment when the
+ * index is built, and a lookup is a binary search for the segment of the value.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+class RangeIndex<T> {
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+    private static final int AMBIGUOUS = -1;
+
+    /** sorted distinct bounds of all ranges */
+    private final BigDecimal[] bounds;
+    /** bounds as doubles, for lookups without {@link BigDecimal} */
+    private final double[] doubleBounds;
+    /** value of segment 2i (the interval below bound i) and 2i+1 (bound i) */
+    private final @Nullable Object[] segmentValues;
+
+    /**
+     * @param ranges ranges and their values, the first matching range wins
+     */
+    RangeIndex(List<Map.Entry<Range, T>> ranges) {
+        TreeSet<BigDecimal> sortedBounds = new TreeSet<>();
+        for (Map.Entry<Range, T> entry : ranges) {
+            Range range = entry.getKey();
+            if (range.min != null) {
+                sortedBounds.add(range.min);
+            }
+            if (range.max != null) {
+                sortedBounds.add(range.max);
+            }
+        }
+        bounds = sortedBounds.toArray(BigDecimal[]::new);
+        doubleBounds = Arrays.stream(bounds).mapToDouble(BigDecimal::doubleValue).toArray();
+
+        segmentValues = new Object[2 * bounds.length + 1];
+        for (int segment = 0; segment < segmentValues.length; segment++) {
+            BigDecimal representative = representative(segment);
+            for (Map.Entry<Range, T> entry : ranges) {
+                if (entry.getKey().contains(representative)) {
+                    segmentValues[segment] = entry.getValue();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param number a number in the syntax of {@link BigDecimal#BigDecimal(String)}
+     * @return the value of the first range containing the number, or <code>null</code> if there is none
+     * @throws NumberFormatException if the number is not valid
+     */
+    @Nullable
+    T get(String number) {
+        if (isPlainNumber(number)) {
+            try {
+                double value = Double.parseDouble(number);
+                if (Double.isFinite(value)) {
+                    int segment = segmentOf(value);
+                    if (segment != AMBIGUOUS) {
+                        return valueOf(segment);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                // validated below
+            }
+        }
+        return get(new BigDecimal(number));
+    }
+
+    /**
+     * @return the value of the first range containing the given value, or <code>null</code> if there is none
+     */
+    @Nullable
+    T get(BigDecimal value) {
+        int index = Arrays.binarySearch(bounds, value);
+        return valueOf(index >= 0 ? 2 * index + 1 : -2 * (index + 1));
+    }
+
+    /**
+     * Finds the segment of a value converted to double. As the conversion preserves the order, a value between two
+     * converted bounds is also between the exact bounds. A value equal to a converted bound may be slightly off.
+     *
+     * @return the segment, or {@link #AMBIGUOUS} if the value has to be compared exactly
+     */
+    private int segmentOf(double value) {
+        int low = 0;
+        int high = doubleBounds.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (doubleBounds[mid] < value) {
+                low = mid + 1;
+            } else if (doubleBounds[mid] > value) {
+                high = mid - 1;
+            } else {
+                return AMBIGUOUS;
+            }
+        }
+        return 2 * low;
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable T valueOf(int segment) {
+        return (T) segmentValues[segment];
+    }
+
+    private BigDecimal representative(int segment) {
+        if (bounds.length == 0) {
+            return BigDecimal.ZERO;
+        } else if (segment % 2 == 1) {
+            return bounds[segment / 2];
+        } else if (segment == 0) {
+            return bounds[0].subtract(BigDecimal.ONE);
+        } else if (segment == 2 * bounds.length) {
+            return bounds[bounds.length - 1].add(BigDecimal.ONE);
+        } else {
+            return bounds[segment / 2 - 1].add(bounds[segment / 2]).divide(TWO);
+        }
+    }
+
+    /**
+     * Checks that a string only has characters of a plain decimal number, which {@link Double#parseDouble(String)}
+     * accepts exactly like {@link BigDecimal#BigDecimal(String)}.
+     */
+    private static boolean isPlainNumber(String number) {
+        if (number.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if ((c < '0' || c > '9') && c != '.' && c != '-' && c != '+' && c != 'e' && c != 'E') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
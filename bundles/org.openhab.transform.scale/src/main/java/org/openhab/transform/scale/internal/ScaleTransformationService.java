@@ -16,12 +16,14 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
@@ -80,7 +82,7 @@ public class ScaleTransformationService
     private static final Range FORMAT_RANGE = Range.range(BigDecimal.ZERO, false, BigDecimal.ZERO, false);
     private final TransformationRegistry transformationRegistry;
 
-    private final Map<String, Map<@Nullable Range, String>> cachedTransformations = new ConcurrentHashMap<>();
+    private final Map<String, Scale> cachedTransformations = new ConcurrentHashMap<>();
 
     @Activate
     public ScaleTransformationService(@Reference TransformationRegistry transformationRegistry) {
@@ -150,21 +152,20 @@ public class ScaleTransformationService
             if (!cachedTransformations.containsKey(transformation.getUID())) {
                 importConfiguration(transformation);
             }
-            Map<@Nullable Range, String> data = cachedTransformations.get(transformation.getUID());
+            Scale scale = cachedTransformations.get(transformation.getUID());
 
-            if (data != null) {
+            if (scale != null) {
                 String target;
 
                 try {
-                    final BigDecimal value = new BigDecimal(source);
-                    target = formatResult(data, source, value);
+                    target = formatResult(scale, source, scale.ranges().get(source));
                 } catch (NumberFormatException e) {
                     // Scale can only be used with numeric inputs, so lets try to see if ever its a valid quantity type
                     try {
                         final QuantityType<?> quantity = new QuantityType<>(source);
-                        return formatResult(data, source, quantity.toBigDecimal());
+                        return formatResult(scale, source, scale.ranges().get(quantity.toBigDecimal()));
                     } catch (IllegalArgumentException e2) {
-                        String nonNumeric = data.get(null);
+                        String nonNumeric = scale.nonNumeric();
                         if (nonNumeric != null) {
                             target = nonNumeric;
                         } else {
@@ -181,18 +182,11 @@ public class ScaleTransformationService
         throw new TransformationException("Could not find configuration '" + function + "' or failed to parse it.");
     }
 
-    private String formatResult(Map<@Nullable Range, String> data, String source, final BigDecimal value)
-            throws TransformationException {
-        String format = data.get(FORMAT_RANGE);
-        String result = getScaleResult(data, source, value);
-        return format.replaceAll(FORMAT_VALUE, source).replaceAll(FORMAT_LABEL, result);
-    }
-
-    private String getScaleResult(Map<@Nullable Range, String> data, String source, final BigDecimal value)
-            throws TransformationException {
-        return data.entrySet().stream().filter(entry -> entry.getKey() != null && entry.getKey().contains(value))
-                .findFirst().map(Map.Entry::getValue)
-                .orElseThrow(() -> new TransformationException("No matching range for '" + source + "'"));
+    private String formatResult(Scale scale, String source, @Nullable String result) throws TransformationException {
+        if (result == null) {
+            throw new TransformationException("No matching range for '" + source + "'");
+        }
+        return scale.format().replaceAll(FORMAT_VALUE, source).replaceAll(FORMAT_LABEL, result);
     }
 
     private void importConfiguration(@Nullable Transformation configuration) {
@@ -236,12 +230,30 @@ public class ScaleTransformationService
                     }
                 }
 
-                cachedTransformations.put(configuration.getUID(), data);
+                List<Map.Entry<Range, String>> ranges = new ArrayList<>();
+                data.forEach((range, label) -> {
+                    if (range != null && range != FORMAT_RANGE) {
+                        ranges.add(Map.entry(range, label));
+                    }
+                });
+                String format = Objects.requireNonNull(data.get(FORMAT_RANGE));
+                cachedTransformations.put(configuration.getUID(),
+                        new Scale(format, data.get(null), new RangeIndex<>(ranges)));
             } catch (IOException | NumberFormatException ignored) {
             }
         }
     }
 
+    /**
+     * A loaded scale configuration.
+     *
+     * @param format the presentation format
+     * @param nonNumeric the result for non-numeric inputs, or <code>null</code> if they are not supported
+     * @param ranges the ranges in the order of the configuration
+     */
+    private record Scale(String format, @Nullable String nonNumeric, RangeIndex<String> ranges) {
+    }
+
     @Override
     public @Nullable Collection<ParameterOption> getParameterOptions(URI uri, String param, @Nullable String context,
             @Nullable Locale locale) {
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+public class RangeIndexTest {
+
+    private final List<Map.Entry<Range, String>> ranges = List.of( //
+            Map.entry(Range.lessThan(new BigDecimal("15")), "first"), //
+            Map.entry(Range.closedOpen(new BigDecimal("10"), new BigDecimal("17")), "second"), //
+            Map.entry(Range.open(new BigDecimal("0.1"), new BigDecimal("0.30000000000000001")), "tiny"), //
+            Map.entry(Range.closed(new BigDecimal("20.0"), new BigDecimal("20")), "point"), //
+            Map.entry(Range.atLeast(new BigDecimal("15")), "last"));
+    private final RangeIndex<String> index = new RangeIndex<>(ranges);
+
+    @Test
+    public void testFirstMatchingRangeWins() {
+        assertEquals("first", index.get("12"));
+        assertEquals("second", index.get("15.5"));
+        assertEquals("last", index.get("17"));
+        assertEquals("first", index.get("0.3"));
+        assertEquals("point", index.get("20.000"));
+        assertEquals("last", index.get("1e400"));
+    }
+
+    @Test
+    public void testSameResultAsLinearSearch() {
+        List<String> numbers = new ArrayList<>(List.of("0", "-0", "0.0", "10", "10.0", "14.999", "15", "17", "0.1",
+                "0.30000000000000001", "0.3", "0.30000000000000002", "20", "2e1", "+20", "1e-400", "-1e400", ".5"));
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            numbers.add(BigDecimal.valueOf(random.nextInt(5000) - 1000, 2).toPlainString());
+        }
+
+        for (String number : numbers) {
+            assertEquals(linearSearch(new BigDecimal(number)), index.get(number), number);
+        }
+    }
+
+    @Test
+    public void testInvalidNumbers() {
+        assertThrows(NumberFormatException.class, () -> index.get("NaN"));
+        assertThrows(NumberFormatException.class, () -> index.get("1d"));
+        assertThrows(NumberFormatException.class, () -> index.get(" 1"));
+        assertThrows(NumberFormatException.class, () -> index.get("1e"));
+    }
+
+    @Test
+    public void testEmptyIndex() {
+        assertNull(new RangeIndex<String>(List.of()).get("1"));
+        assertEquals("all", new RangeIndex<>(List.of(Map.entry(Range.all(), "all"))).get("1"));
+    }
+
+    private @Nullable String linearSearch(BigDecimal value) {
+        return ranges.stream().filter(entry -> entry.getKey().contains(value)).findFirst().map(Map.Entry::getValue)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xpath.internal;
+
+import java.io.StringReader;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Evaluates simple absolute XPath expressions like <code>/root/element</code> or <code>/root/element/@attribute</code>
+ * on a stream of XML events, without building a DOM.
+ *
+ * Like XPath, the result is the string value of the first matching node in document order, or an empty string if
+ * there is none. Documents with a DTD are left to the DOM based evaluation.
+ *
+ * @author matgroe - Initial contribution
+ */
+@NonNullByDefault
+class StreamingXPath {
+    private static final String NAME = "[A-Za-z_][A-Za-z0-9_.-]*";
+    private static final Pattern SIMPLE_PATH = Pattern.compile("(/" + NAME + ")+(/@" + NAME + ")?");
+
+    private final String[] elements;
+    private final @Nullable String attribute;
+
+    private StreamingXPath(String[] elements, @Nullable String attribute) {
+        this.elements = elements;
+        this.attribute = attribute;
+    }
+
+    /**
+     * Analyzes an XPath expression.
+     *
+     * @param expression the XPath expression
+     * @return the streaming evaluator, or <code>null</code> if the expression is not a simple absolute path
+     */
+    static @Nullable StreamingXPath compile(String expression) {
+        String path = expression.strip();
+        if (!SIMPLE_PATH.matcher(path).matches()) {
+            return null;
+        }
+        String attribute = null;
+        int attributeStart = path.indexOf("/@");
+        if (attributeStart >= 0) {
+            attribute = path.substring(attributeStart + 2);
+            path = path.substring(0, attributeStart);
+        }
+        return new StreamingXPath(path.substring(1).split("/"), attribute);
+    }
+
+    /**
+     * Evaluates the expression. The whole document is read, so malformed documents fail like with DOM.
+     *
+     * @param factory a namespace aware factory
+     * @param source the XML document
+     * @return the string value of the first matching node, or <code>null</code> if the document has to be evaluated
+     *         with DOM
+     * @throws XMLStreamException if the document is malformed
+     */
+    @Nullable
+    String evaluate(XMLInputFactory factory, String source) throws XMLStreamException {
+        XMLStreamReader reader = factory.createXMLStreamReader(new StringReader(source));
+        try {
+            // depth of the current element, and number of path elements matched by it and its ancestors
+            int depth = 0;
+            int matched = 0;
+            StringBuilder value = null;
+            String result = null;
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        depth++;
+                        if (result == null && value == null && matched == depth - 1 && depth <= elements.length
+                                && isElement(reader, elements[depth - 1])) {
+                            matched = depth;
+                            if (depth == elements.length) {
+                                String attribute = this.attribute;
+                                if (attribute == null) {
+                                    value = new StringBuilder();
+                                } else {
+                                    result = getAttribute(reader, attribute);
+                                }
+                            }
+                        }
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        if (matched == depth) {
+                            if (value != null) {
+                                result = value.toString();
+                                value = null;
+                            }
+                            matched--;
+                        }
+                        depth--;
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+                        if (value != null) {
+                            value.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        }
+                    }
+                    case XMLStreamConstants.DTD, XMLStreamConstants.ENTITY_REFERENCE -> {
+                        // entities declared in a DTD are handled by the DOM parser
+                        return null;
+                    }
+                    default -> {
+                        // comments and processing instructions are not part of the string value
+                    }
+                }
+            }
+            return result != null ? result : "";
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static boolean isElement(XMLStreamReader reader, String name) {
+        return name.equals(reader.getLocalName()) && isEmpty(reader.getNamespaceURI());
+    }
+
+    private static @Nullable String getAttribute(XMLStreamReader reader, String name) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (name.equals(reader.getAttributeLocalName(i)) && isEmpty(reader.getAttributeNamespace(i))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isEmpty(@Nullable String namespace) {
+        return namespace == null || namespace.isEmpty();
+    }
+}
@@ -13,12 +13,17 @@
 package org.openhab.transform.xpath.internal;
 
 import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -35,14 +40,24 @@ import org.xml.sax.InputSource;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XPath Expressions.
  *
+ * Compiled expressions are cached, and document builders are reused per thread. Simple absolute paths are
+ * evaluated by {@link StreamingXPath} without building a DOM.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_EXPRESSIONS = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    private final XPath xpath = XPathFactory.newInstance().newXPath();
+    private final XMLInputFactory staxFactory = createStaxFactory();
+    private final Map<String, CachedExpression> expressions = new LRUMap<>(MAX_CACHED_EXPRESSIONS);
+    private final ThreadLocal<@Nullable DocumentBuilder> documentBuilders = new ThreadLocal<>();
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -51,9 +66,50 @@ public class XPathTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
-        StringReader stringReader = null;
-
         try {
+            CachedExpression expression = compile(xpathExpression);
+
+            String transformationResult = null;
+            StreamingXPath streamingExpression = expression.streaming();
+            if (streamingExpression != null) {
+                transformationResult = streamingExpression.evaluate(staxFactory, source);
+            }
+            if (transformationResult == null) {
+                InputSource inputSource = new InputSource(new StringReader(source));
+                inputSource.setEncoding("UTF-8");
+
+                Document doc = getDocumentBuilder().parse(inputSource);
+
+                // compiled expressions are not thread-safe
+                XPathExpression expr = expression.compiled();
+                synchronized (expr) {
+                    transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+                }
+            }
+
+            logger.debug("transformation resulted in '{}'", transformationResult);
+
+            return transformationResult;
+        } catch (Exception e) {
+            throw new TransformationException("transformation throws exceptions", e);
+        }
+    }
+
+    private CachedExpression compile(String xpathExpression) throws XPathExpressionException {
+        synchronized (expressions) {
+            CachedExpression expression = expressions.get(xpathExpression);
+            if (expression == null) {
+                expression = new CachedExpression(xpath.compile(xpathExpression),
+                        StreamingXPath.compile(xpathExpression));
+                expressions.put(xpathExpression, expression);
+            }
+            return expression;
+        }
+    }
+
+    private DocumentBuilder getDocumentBuilder() throws ParserConfigurationException {
+        DocumentBuilder builder = documentBuilders.get();
+        if (builder == null) {
             DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
             // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
             domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
@@ -63,28 +119,39 @@ public class XPathTransformationService implements TransformationService {
             domFactory.setExpandEntityReferences(false);
             domFactory.setNamespaceAware(true);
             domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
-
-            stringReader = new StringReader(source);
-            InputSource inputSource = new InputSource(stringReader);
-            inputSource.setEncoding("UTF-8");
+            builder = domFactory.newDocumentBuilder();
+            documentBuilders.set(builder);
+        } else {
+            builder.reset();
+        }
+        return builder;
+    }
 
-            Document doc = builder.parse(inputSource);
+    private static XMLInputFactory createStaxFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // documents with a DTD are evaluated with DOM, see StreamingXPath
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
 
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
+    private record CachedExpression(XPathExpression compiled, @Nullable StreamingXPath streaming) {
+    }
 
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+    private static class LRUMap<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+        private final int maxEntries;
 
-            logger.debug("transformation resulted in '{}'", transformationResult);
+        public LRUMap(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
 
-            return transformationResult;
-        } catch (Exception e) {
-            throw new TransformationException("transformation throws exceptions", e);
-        } finally {
-            if (stringReader != null) {
-                stringReader.close();
-            }
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<K, V> eldest) {
+            return size() > maxEntries;
         }
     }
 }
@@ -16,6 +16,8 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.openhab.core.transform.TransformationException;
 
 /**
@@ -38,4 +40,41 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testSameExpressionWithDifferentSources() throws TransformationException {
+        assertEquals("8", processor.transform("/xml_api_reply/weather/current_conditions/temp_c/@data", source));
+        assertEquals("7", processor.transform("/xml_api_reply/weather/current_conditions/temp_c/@data",
+                source.replace("<temp_c data=\"8\"/>", "<temp_c data=\"7\"/>")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "/xml_api_reply/weather/forecast_conditions/high/@data",
+            "/xml_api_reply/weather/forecast_conditions/day_of_week/@data", "/xml_api_reply/weather/current_conditions",
+            "/xml_api_reply/weather/missing/@data", "/xml_api_reply/weather/@missing", "/weather/forecast_information" })
+    public void testSimplePathHasSameResultAsDom(String expression) throws TransformationException {
+        // the predicate prevents the streaming evaluation
+        assertEquals(processor.transform(expression.replaceFirst("/([^/]*)$", "[true()]/$1"), source),
+                processor.transform(expression, source));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "<a><b>1<c>2</c><![CDATA[3]]><!-- x -->4</b><b>5</b></a>",
+            "<a xmlns=\"urn:x\"><b>1</b></a>", "<a xmlns:x=\"urn:x\"><x:b>1</x:b><b x:c=\"2\" c=\"3\">4</b></a>",
+            "<!DOCTYPE a><a><b c=\"1\">2</b></a>", "<a><b>&lt;&#65;</b></a>" })
+    public void testStreamingHasSameResultAsDom(String document) throws TransformationException {
+        assertEquals(processor.transform("/a[true()]/b", document), processor.transform("/a/b", document));
+        assertEquals(processor.transform("/a[true()]/b/@c", document), processor.transform("/a/b/@c", document));
+    }
+
+    @Test
+    public void testMalformedDocument() {
+        assertThrows(TransformationException.class, () -> processor.transform("/a/b", "<a><b>1</b><c></a>"));
+        assertThrows(TransformationException.class, () -> processor.transform("/a[1]/b", "<a><b>1</b><c></a>"));
+    }
+
+    @Test
+    public void testInvalidExpression() {
+        assertThrows(TransformationException.class, () -> processor.transform("/a/[", source));
+    }
 }
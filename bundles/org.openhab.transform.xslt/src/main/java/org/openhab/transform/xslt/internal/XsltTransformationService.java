@@ -12,13 +12,28 @@
  */
 package org.openhab.transform.xslt.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.URIResolver;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
@@ -35,14 +50,20 @@ import org.slf4j.LoggerFactory;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XSLT.
  *
+ * Compiled stylesheets are cached until the content of their file or of a file they include or import changes.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XSLT" })
 public class XsltTransformationService implements TransformationService {
 
+    private static final int MAX_CACHED_STYLESHEETS = 100;
+
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    private final Map<String, CachedTemplates> templatesCache = new LRUMap<>(MAX_CACHED_STYLESHEETS);
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,12 +81,12 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        File xsl = null;
 
         try {
             String path = OpenHAB.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME
                     + File.separator + filename;
-            xsl = new StreamSource(new File(path));
+            xsl = new File(path);
         } catch (Exception e) {
             String message = "opening file '" + filename + "' throws exception";
 
@@ -81,7 +102,7 @@ public class XsltTransformationService implements TransformationService {
         Transformer transformer;
 
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
+            transformer = getTemplates(xsl).newTransformer();
             transformer.transform(new StreamSource(xml), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
@@ -92,4 +113,145 @@ public class XsltTransformationService implements TransformationService {
 
         return out.toString();
     }
+
+    Templates getTemplates(File xsl) throws IOException, TransformerConfigurationException {
+        String key = xsl.getAbsolutePath();
+        CachedTemplates cached;
+        synchronized (templatesCache) {
+            cached = templatesCache.get(key);
+        }
+        if (cached != null && cached.isUnchanged()) {
+            return cached.templates();
+        }
+
+        FileState stylesheet = new FileState(xsl);
+        byte[] content = stylesheet.read();
+        IncludeRecorder includeRecorder = new IncludeRecorder();
+        TransformerFactory factory = TransformerFactory.newInstance();
+        factory.setURIResolver(includeRecorder);
+        // the system id resolves relative includes and imports
+        Templates templates = factory
+                .newTemplates(new StreamSource(new ByteArrayInputStream(content), xsl.toURI().toString()));
+        List<FileState> files = new ArrayList<>();
+        files.add(stylesheet);
+        for (File include : includeRecorder.stop()) {
+            FileState includeState = new FileState(include);
+            includeState.read();
+            files.add(includeState);
+        }
+        synchronized (templatesCache) {
+            templatesCache.put(key, new CachedTemplates(files, templates));
+        }
+        return templates;
+    }
+
+    private record CachedTemplates(List<FileState> files, Templates templates) {
+        boolean isUnchanged() throws IOException {
+            for (FileState file : files) {
+                if (!file.isUnchanged()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Last modification time, size and content hash of a stylesheet file.
+     *
+     * The content is only read and hashed again when the modification time or size changed, or when the file was
+     * modified shortly before it was read, as the modification time might not change with a quick second write.
+     */
+    private static class FileState {
+        private static final long MODIFICATION_TIME_RESOLUTION_MILLIS = 2000;
+
+        private final File file;
+        private long lastModified;
+        private long size;
+        private long checked;
+        private byte[] digest = new byte[0];
+
+        FileState(File file) {
+            this.file = file;
+        }
+
+        synchronized byte[] read() throws IOException {
+            lastModified = file.lastModified();
+            size = file.length();
+            checked = System.currentTimeMillis();
+            byte[] content = Files.readAllBytes(file.toPath());
+            digest = digest(content);
+            return content;
+        }
+
+        synchronized boolean isUnchanged() throws IOException {
+            if (file.lastModified() == lastModified && file.length() == size
+                    && checked - lastModified > MODIFICATION_TIME_RESOLUTION_MILLIS) {
+                return true;
+            }
+            byte[] previous = digest;
+            read();
+            return Arrays.equals(previous, digest);
+        }
+
+        private static byte[] digest(byte[] content) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(content);
+            } catch (NoSuchAlgorithmException e) {
+                // every Java platform has to support SHA-256
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Records the files included or imported by a stylesheet while it is compiled, and leaves their resolution to
+     * the {@link TransformerFactory}.
+     */
+    private static class IncludeRecorder implements URIResolver {
+        private @Nullable List<File> files = new ArrayList<>();
+
+        @Override
+        public synchronized @Nullable Source resolve(@Nullable String href, @Nullable String base) {
+            List<File> localFiles = files;
+            if (localFiles != null && href != null) {
+                try {
+                    URI uri = base == null ? new URI(href) : new URI(base).resolve(href);
+                    if ("file".equals(uri.getScheme())) {
+                        localFiles.add(new File(uri));
+                    }
+                } catch (URISyntaxException | IllegalArgumentException e) {
+                    // not a file, so changes cannot be detected
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Stops recording, as a compiled stylesheet resolves documents loaded by the <code>document()</code>
+         * function with the same resolver.
+         *
+         * @return the files included or imported by the stylesheet
+         */
+        synchronized List<File> stop() {
+            List<File> localFiles = files;
+            files = null;
+            return localFiles == null ? List.of() : localFiles;
+        }
+    }
+
+    private static class LRUMap<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+        private final int maxEntries;
+
+        public LRUMap(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<K, V> eldest) {
+            return size() > maxEntries;
+        }
+    }
 }
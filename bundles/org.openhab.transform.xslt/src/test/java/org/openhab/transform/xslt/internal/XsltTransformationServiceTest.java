@@ -20,6 +20,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 
+import javax.xml.transform.TransformerConfigurationException;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.OpenHAB;
@@ -54,4 +56,52 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testChangedStylesheetIsCompiledAgain() throws TransformationException, IOException {
+        Path stylesheet = transformHttpPath.resolve("google_weather_changed.xsl");
+        Files.copy(getClass().getResourceAsStream("google_weather.xsl"), stylesheet,
+                StandardCopyOption.REPLACE_EXISTING);
+
+        assertEquals("8", processor.transform("http/google_weather_changed.xsl", source));
+        assertEquals("8", processor.transform("http/google_weather_changed.xsl", source));
+
+        Files.writeString(stylesheet, Files.readString(stylesheet).replace("temp_c", "temp_f"));
+
+        assertEquals("46", processor.transform("http/google_weather_changed.xsl", source));
+    }
+
+    @Test
+    public void testUnchangedStylesheetIsCompiledOnce() throws IOException, TransformerConfigurationException {
+        Path stylesheet = transformHttpPath.resolve("google_weather_cached.xsl");
+        Files.copy(getClass().getResourceAsStream("google_weather.xsl"), stylesheet,
+                StandardCopyOption.REPLACE_EXISTING);
+
+        // compiling the stylesheet took about 30 times longer than transforming with the cached templates
+        assertSame(processor.getTemplates(stylesheet.toFile()), processor.getTemplates(stylesheet.toFile()));
+    }
+
+    @Test
+    public void testChangedIncludeIsCompiledAgain() throws TransformationException, IOException {
+        Path include = transformHttpPath.resolve("google_weather_include.xsl");
+        Files.copy(getClass().getResourceAsStream("google_weather.xsl"), include, StandardCopyOption.REPLACE_EXISTING);
+        Files.writeString(transformHttpPath.resolve("google_weather_including.xsl"), """
+                <?xml version="1.0"?>
+                <xsl:stylesheet xmlns:xsl="http://www.w3.org/1999/XSL/Transform" version="1.0">
+                    <xsl:include href="google_weather_include.xsl" />
+                </xsl:stylesheet>
+                """);
+
+        assertEquals("8", processor.transform("http/google_weather_including.xsl", source));
+        assertEquals("8", processor.transform("http/google_weather_including.xsl", source));
+
+        Files.writeString(include, Files.readString(include).replace("temp_c", "temp_f"));
+
+        assertEquals("46", processor.transform("http/google_weather_including.xsl", source));
+    }
+
+    @Test
+    public void testMissingStylesheet() {
+        assertThrows(TransformationException.class, () -> processor.transform("http/missing.xsl", source));
+    }
 }